@@ -0,0 +1,112 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: JMH benchmarks for loading pre-generated puzzles: opening a
+ *          puzzle bank and unpacking its records.  The bank replaced the
+ *          one-file-per-solution pregen/*.ssf folder, so this is where the
+ *          old .ssf loading is measured now.
+ */
+package sdg.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sdg.PuzzleBank;
+import sdg.PuzzleBankWriter;
+import sdg.PuzzleDigger;
+
+/**
+ * Works on a bank written to a temporary file at setup, from the fixed
+ * inputs, rather than on pregen.sdb; so the numbers don't depend on the
+ * working directory or on whatever bank happens to be shipped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BankBenchmark {
+
+    // Records in the bank; a power of two.
+    private static final int RECORDS = 1024;
+
+    // Clues in each record's view.
+    private static final int HINTS = 24;
+
+    private File file;
+    private PuzzleBank bank;
+    private int[][] board;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        int[][][] solutions = BenchmarkInputs.solutions(RECORDS);
+        int[][] display = new int[BenchmarkInputs.SIZE][BenchmarkInputs.SIZE];
+        PuzzleDigger digger = new PuzzleDigger(new Random(BenchmarkInputs.RANDOM_SEED));
+
+        file = File.createTempFile("bench", ".sdb");
+        file.deleteOnExit();
+
+        PuzzleBankWriter writer = new PuzzleBankWriter(file, true, false);
+
+        try {
+            for (int[][] solution : solutions) {
+                digger.dig(solution, display, HINTS, false);
+                writer.add(solution, display, 0);
+
+            }
+
+        } finally {
+            writer.close();
+
+        }
+
+        bank = new PuzzleBank(file);
+        board = new int[BenchmarkInputs.SIZE][BenchmarkInputs.SIZE];
+
+    }
+
+    // Every open maps the file again, and a mapping is only released when
+    // the bank is garbage collected; timed in a loop, the JVM runs out of
+    // mappings long before it collects. The game opens the bank once, so a
+    // handful of single shots is the honest measure anyway.
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    public PuzzleBank open() throws IOException {
+        return new PuzzleBank(file);
+
+    }
+
+    @Benchmark
+    public int[][] readSolution() {
+        bank.readSolution(next++ & (RECORDS - 1), board);
+
+        return board;
+
+    }
+
+    @Benchmark
+    public int[][] readDisplay() {
+        bank.readDisplay(next++ & (RECORDS - 1), board);
+
+        return board;
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Fixed inputs shared by the JMH benchmarks.  Everything is built
+ *          from one random seed, so every run (and every machine) measures
+ *          exactly the same boards.
+ */
+package sdg.bench;
+
+import java.util.Random;
+
+import sdg.DancingLinksSolver;
+import sdg.GridTransformer;
+import sdg.SearchBudget;
+import sdg.SudokuBoard;
+import sdg.SudokuGenerator;
+
+/**
+ * Reproducible boards: complete solutions, solvable seedings and a few
+ * puzzles known to be hard for search.
+ */
+final class BenchmarkInputs {
+
+    // Every benchmark input comes from this seed.
+    static final long RANDOM_SEED = 20181227L;
+
+    static final int SIZE = SudokuGenerator.MAX_VALUE;
+
+    /**
+     * Known-hard puzzles, one per line of 81 squares ('.' is empty): Arto
+     * Inkala's 2012 "hardest" puzzle, the puzzle built to defeat brute-force
+     * solvers (it takes naive backtracking hundreds of millions of steps),
+     * and the first of Norvig's top95 set.
+     */
+    static final String[] HARD_PUZZLES = {
+        "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+        "..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9",
+        "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......"
+    };
+
+    private BenchmarkInputs() {
+
+    }
+
+    /**
+     * Reads a puzzle written as 81 characters, row by row.
+     *
+     * @param puzzle The puzzle; '.' or '0' is an empty square.
+     * @return The board.
+     */
+    static int[][] parse(String puzzle) {
+        int[][] board = new int[SIZE][SIZE];
+
+        for (int square = 0; square < SIZE * SIZE; square++) {
+            char ch = puzzle.charAt(square);
+            board[square / SIZE][square % SIZE] = (ch == '.') ? 0 : ch - '0';
+
+        }
+
+        return board;
+
+    }
+
+    /**
+     * Makes count different complete solutions by disguising one solved
+     * grid.
+     *
+     * @param count The number of solutions.
+     * @return The solutions.
+     */
+    static int[][][] solutions(int count) {
+        int[][][] solutions = new int[count][SIZE][SIZE];
+        GridTransformer transformer = new GridTransformer(new Random(RANDOM_SEED));
+        int[][] base = new int[SIZE][SIZE];
+
+        new DancingLinksSolver().solve(base, SearchBudget.unlimited());
+
+        for (int i = 0; i < count; i++) {
+            transformer.randomize();
+            transformer.transform(base, solutions[i]);
+
+        }
+
+        return solutions;
+
+    }
+
+    /**
+     * Makes count seedings, as execute would, keeping only those that can be
+     * completed; so every one of them is worth timing a solve on.
+     *
+     * @param count The number of seedings.
+     * @param seed The number of squares to seed.
+     * @return The seedings.
+     */
+    static int[][][] solvableSeedings(int count, int seed) {
+        int[][][] seedings = new int[count][][];
+        SudokuGenerator generator = new SudokuGenerator(seed, 0, new Random(RANDOM_SEED));
+        int[][] scratch = new int[SIZE][SIZE];
+
+        for (int i = 0; i < count;) {
+            SudokuBoard.clear(generator.getSolutionCells());
+            generator.generatePuzzlePureRandom(seed);
+
+            SudokuBoard.copy(generator.getSolutionCells(), scratch);
+
+            if (generator.countSolutions(scratch, 1) > 0) {
+                seedings[i++] = generator.getSolution();
+
+            }
+
+        }
+
+        return seedings;
+
+    }
+
+    /**
+     * Empties every square of a board.
+     *
+     * @param board The board.
+     */
+    static void clear(int[][] board) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                board[row][col] = 0;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Copies one board over another.
+     *
+     * @param source The board to copy; of any order.
+     * @param target The board to overwrite, of the same order.
+     */
+    static void copy(int[][] source, int[][] target) {
+        for (int row = 0; row < source.length; row++) {
+            System.arraycopy(source[row], 0, target[row], 0, source.length);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: JMH benchmarks for generating and solving boards of every order
+ *          bigger than 4x4: the classic 9x9 as the baseline, then 16x16 and
+ *          25x25.
+ */
+package sdg.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sdg.BacktrackingSolver;
+import sdg.DancingLinksSolver;
+import sdg.GenerationMetrics;
+import sdg.SearchBudget;
+import sdg.SudokuGenerator;
+
+/**
+ * execute is one whole puzzle, dug as far as uniqueness (and, past 9x9, the
+ * digger's node cap) allows; the solve benchmarks cycle through puzzles made
+ * that way in setup, so they measure the boards the game really hands out.
+ * <br><br>
+ * NOTE: The backtracker runs in its fixed candidate order, as in
+ * SolverBenchmark. Past 16x16 it can spend minutes on one puzzle, so leave it
+ * out of 25x25 runs, e.g. -Dbench.args="BoardOrderBenchmark.solveBacktracking
+ * -p order=3,4".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardOrderBenchmark {
+
+    // The seed count the game uses.
+    private static final int SEED = 16;
+
+    // Puzzles to cycle through; a power of two.
+    private static final int INPUTS = 16;
+
+    @Param({"3", "4", "5"})
+    public int order;
+
+    private SudokuGenerator generator;
+    private BacktrackingSolver backtracker;
+    private DancingLinksSolver dancingLinks;
+
+    private int[][][] puzzles;
+    private int[][] scratch;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        int size = order * order;
+
+        generator = new SudokuGenerator(SEED, 0, order, new Random(BenchmarkInputs.RANDOM_SEED));
+        generator.setMetrics(new GenerationMetrics());
+        backtracker = new BacktrackingSolver();
+        dancingLinks = new DancingLinksSolver(order);
+
+        puzzles = new int[INPUTS][size][size];
+        scratch = new int[size][size];
+
+        for (int i = 0; i < INPUTS; i++) {
+            generator.execute(SEED, 0, null, SearchBudget.unlimited());
+            BenchmarkInputs.copy(generator.getDisplay(), puzzles[i]);
+
+        }
+
+    }
+
+    @Benchmark
+    public int[][] execute() {
+        generator.execute(SEED, 0, null, SearchBudget.unlimited());
+
+        return generator.getDisplay();
+
+    }
+
+    @Benchmark
+    public boolean solveBacktracking() {
+        BenchmarkInputs.copy(puzzles[next++ & (INPUTS - 1)], scratch);
+
+        return backtracker.solve(scratch, SearchBudget.unlimited());
+
+    }
+
+    @Benchmark
+    public boolean solveDancingLinks() {
+        BenchmarkInputs.copy(puzzles[next++ & (INPUTS - 1)], scratch);
+
+        return dancingLinks.solve(scratch, SearchBudget.unlimited());
+
+    }
+
+}
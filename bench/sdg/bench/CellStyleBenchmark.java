@@ -0,0 +1,116 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: JMH benchmarks for the styling work of one edit on the board: the
+ *          old inline text-fill styles against the :conflict pseudo-class
+ *          SudokuTextField switches now.
+ */
+package sdg.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.css.CssParser;
+import javafx.css.PseudoClass;
+import javafx.css.Stylesheet;
+import javafx.scene.layout.Region;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * inlineStyles is what leaveFocus used to do for every edit: build the border
+ * style afresh, twice, each time behind a text fill, and have JavaFX parse
+ * both as inline styles. pseudoClass is what it does now: flip :conflict on
+ * the square. Each call toggles between red and black, as typing a clashing
+ * digit and then clearing it would.
+ * <br><br>
+ * NOTE: A TextField cannot be made without the JavaFX toolkit running, so the
+ * square is a bare Region, and CssParser stands in for the parse setStyle
+ * hands to the toolkit. The styling pass on the next pulse is not measured;
+ * run with -prof gc for the allocation side, e.g.
+ * -Dbench.args="CellStyleBenchmark -prof gc".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CellStyleBenchmark {
+
+    private static final PseudoClass CONFLICT = PseudoClass.getPseudoClass("conflict");
+
+    // A square on the top-left corner of a block, on a classic board.
+    private static final int BORDER_THICKNESS = 8;
+    private boolean hasTopBorder = true;
+    private boolean hasRightBorder = false;
+    private boolean hasBottomBorder = false;
+    private boolean hasLeftBorder = true;
+
+    private CssParser parser;
+    private Region square;
+    private boolean isConflicted;
+
+    @Setup
+    public void setUp() {
+        parser = new CssParser();
+        square = new Region();
+
+    }
+
+    @Benchmark
+    public Stylesheet inlineStyles() {
+        isConflicted = !isConflicted;
+
+        // Black first, then red or black once the entry has been checked.
+        parseInline("-fx-text-fill: black;" + buildBorderFormat());
+
+        return parseInline((isConflicted ? "-fx-text-fill: red;" : "-fx-text-fill: black;")
+                + buildBorderFormat());
+
+    }
+
+    @Benchmark
+    public Region pseudoClass() {
+        isConflicted = !isConflicted;
+        square.pseudoClassStateChanged(CONFLICT, isConflicted);
+
+        return square;
+
+    }
+
+    /**
+     * Parses a style the way setStyle would, as the body of a rule.
+     *
+     * @param style The inline style.
+     * @return The parsed style.
+     */
+    private Stylesheet parseInline(String style) {
+        return parser.parse("* { " + style + " }");
+
+    }
+
+    /**
+     * The border style, built the way SudokuTextField.getBorderFormat used to
+     * build it on every call.
+     *
+     * @return The inline style for the borders.
+     */
+    private String buildBorderFormat() {
+        return "-fx-border-style: solid outside; -fx-border-width: "
+                + ((hasTopBorder) ? BORDER_THICKNESS : 0) + " "
+                + ((hasRightBorder) ? BORDER_THICKNESS : 0) + " "
+                + ((hasBottomBorder) ? BORDER_THICKNESS : 0) + " "
+                + ((hasLeftBorder) ? BORDER_THICKNESS : 0) + " ";
+
+    }
+
+}
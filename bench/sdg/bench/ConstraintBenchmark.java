@@ -0,0 +1,114 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: JMH benchmarks for the generator's rule checks: isSafeBlock,
+ *          isSafeColOrRow and checkIfValidPuzzle.
+ */
+package sdg.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sdg.SudokuGenerator;
+
+/**
+ * One operation of the isSafe benchmarks is a sweep: every value tried in
+ * every square of each known-hard puzzle, 3 x 729 checks, which is the
+ * pattern the UI and the old solver used. The result is returned so the
+ * checks can't be optimized away.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstraintBenchmark {
+
+    private static final int SIZE = BenchmarkInputs.SIZE;
+
+    private SudokuGenerator generator;
+    private int[][][] boards;
+
+    @Setup
+    public void setUp() {
+        boards = new int[BenchmarkInputs.HARD_PUZZLES.length][][];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = BenchmarkInputs.parse(BenchmarkInputs.HARD_PUZZLES[i]);
+
+        }
+
+        // checkIfValidPuzzle looks at the generator's own solution, which is
+        // complete, so it scans all 81 squares.
+        generator = new SudokuGenerator(0, 0);
+        generator.setSolution(BenchmarkInputs.solutions(1)[0]);
+
+    }
+
+    @Benchmark
+    public int isSafeBlock() {
+        int safe = 0;
+
+        for (int[][] board : boards) {
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    for (int val = 1; val <= SIZE; val++) {
+                        if (generator.isSafeBlock(board, val, row, col)) {
+                            safe++;
+
+                        }
+
+                    }
+
+                }
+
+            }
+
+        }
+
+        return safe;
+
+    }
+
+    @Benchmark
+    public int isSafeColOrRow() {
+        int safe = 0;
+
+        for (int[][] board : boards) {
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    for (int val = 1; val <= SIZE; val++) {
+                        if (generator.isSafeColOrRow(board, val, row, col)) {
+                            safe++;
+
+                        }
+
+                    }
+
+                }
+
+            }
+
+        }
+
+        return safe;
+
+    }
+
+    @Benchmark
+    public boolean checkIfValidPuzzle() {
+        return generator.checkIfValidPuzzle();
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: JMH benchmarks for the steps of SudokuGenerator.execute: seeding
+ *          (generatePuzzlePureRandom), completing the seeding
+ *          (createSolution) and uncovering the user's view
+ *          (createUserViewPuzzle); and for execute as a whole.
+ */
+package sdg.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sdg.SearchBudget;
+import sdg.SudokuBoard;
+import sdg.SudokuGenerator;
+
+/**
+ * Each step runs on its own generator, seeded with the same fixed random
+ * seed, and cycles through a fixed set of inputs, so a run always measures
+ * the same work.
+ * <br><br>
+ * NOTE: generatePuzzlePureRandom includes emptying the board first, and
+ * createSolution includes copying the seeding in; both are a few dozen
+ * nanoseconds against microseconds of real work. Every benchmark works on
+ * the generators' flat boards and execute reuses one budget, so run with
+ * -prof gc to check that generation allocates nothing once warmed up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+
+    // The seed and hint counts the game uses on NORMAL.
+    private static final int SEED = 16;
+    private static final int HINTS = 16;
+
+    // Inputs to cycle through; a power of two.
+    private static final int INPUTS = 64;
+
+    private SudokuGenerator seeder;
+    private SudokuGenerator completer;
+    private SudokuGenerator viewer;
+    private SudokuGenerator executor;
+    private SearchBudget budget;
+
+    private byte[][] seedings;
+    private byte[][] solutions;
+    private byte[] scratch;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        seeder = new SudokuGenerator(SEED, HINTS, new Random(BenchmarkInputs.RANDOM_SEED));
+        completer = new SudokuGenerator(SEED, HINTS, new Random(BenchmarkInputs.RANDOM_SEED));
+        viewer = new SudokuGenerator(SEED, HINTS, new Random(BenchmarkInputs.RANDOM_SEED));
+        executor = new SudokuGenerator(SEED, HINTS, new Random(BenchmarkInputs.RANDOM_SEED));
+        budget = SearchBudget.unlimited();
+
+        int[][][] seedingGrids = BenchmarkInputs.solvableSeedings(INPUTS, SEED);
+        int[][][] solutionGrids = BenchmarkInputs.solutions(INPUTS);
+        seedings = new byte[INPUTS][];
+        solutions = new byte[INPUTS][];
+        for (int i = 0; i < INPUTS; i++) {
+            seedings[i] = SudokuBoard.toCells(seedingGrids[i]);
+            solutions[i] = SudokuBoard.toCells(solutionGrids[i]);
+
+        }
+
+        scratch = new byte[seedings[0].length];
+
+    }
+
+    @Benchmark
+    public byte[] generatePuzzlePureRandom() {
+        SudokuBoard.clear(seeder.getSolutionCells());
+        seeder.generatePuzzlePureRandom(SEED);
+
+        return seeder.getSolutionCells();
+
+    }
+
+    @Benchmark
+    public boolean createSolution() {
+        System.arraycopy(seedings[next++ & (INPUTS - 1)], 0, scratch, 0, scratch.length);
+
+        // Every seeding is solvable, so this never falls back.
+        return completer.createSolution(scratch, System.currentTimeMillis(), null);
+
+    }
+
+    @Benchmark
+    public byte[] createUserViewPuzzle() {
+        System.arraycopy(solutions[next++ & (INPUTS - 1)], 0, viewer.getSolutionCells(), 0, scratch.length);
+        viewer.createUserViewPuzzle(HINTS);
+
+        return viewer.getDisplayCells();
+
+    }
+
+    @Benchmark
+    public byte[] execute() {
+        budget.reset();
+        executor.execute(SEED, HINTS, null, budget);
+
+        return executor.getDisplayCells();
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: JMH benchmarks for the solvers on puzzles known to be hard for
+ *          search.
+ */
+package sdg.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sdg.BacktrackingSolver;
+import sdg.DancingLinksSolver;
+import sdg.SearchBudget;
+import sdg.SteppingSolver;
+import sdg.SudokuSolver;
+
+/**
+ * Solves one of BenchmarkInputs.HARD_PUZZLES per operation, with an
+ * unlimited budget. The backtrackers run in their default, fixed candidate
+ * order, so their search is the same every time; "stepping" is the same search
+ * as "backtracking" without the recursion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    @Param({"backtracking", "stepping", "dancingLinks"})
+    public String solverName;
+
+    // Which of BenchmarkInputs.HARD_PUZZLES to solve.
+    @Param({"0", "1", "2"})
+    public int puzzle;
+
+    private SudokuSolver solver;
+    private int[][] board;
+    private int[][] scratch;
+
+    @Setup
+    public void setUp() {
+        if (solverName.equals("backtracking")) {
+            solver = new BacktrackingSolver();
+
+        } else if (solverName.equals("stepping")) {
+            solver = new SteppingSolver();
+
+        } else {
+            solver = new DancingLinksSolver();
+
+        }
+        board = BenchmarkInputs.parse(BenchmarkInputs.HARD_PUZZLES[puzzle]);
+        scratch = new int[BenchmarkInputs.SIZE][BenchmarkInputs.SIZE];
+
+    }
+
+    @Benchmark
+    public boolean solve() {
+        BenchmarkInputs.copy(board, scratch);
+
+        return solver.solve(scratch, SearchBudget.unlimited());
+
+    }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: The original recursive backtracking solver, moved out of
+ *          SudokuGenerator so that it can sit behind the SudokuSolver
+ *          interface next to the other engines.  It fills one square per
+ *          level of recursion, tracking candidates with SudokuConstraints.
+ */
+package sdg;
+
+import java.util.Random;
+
+/**
+ * Depth-first backtracking over the empty squares of a board, trying the
+ * candidates of each square from lowest to highest, or in random order once
+ * setCandidateOrder has been given a Random.
+ * <br><br>
+ * NOTE: Boards of any order SudokuConstraints supports can be solved; the
+ * solver sizes itself to the board it is handed.
+ */
+public class BacktrackingSolver implements SudokuSolver {
+
+    /**
+     * The order in which the solver visits the empty squares.
+     */
+    public enum SearchOrder {
+        // Left to right, top to bottom; the original behavior.
+        ROW_MAJOR,
+        // Always the empty square with the fewest candidates left (MRV).
+        MOST_CONSTRAINED
+
+    }
+
+    // Row, column and block masks kept in step with the board being solved.
+    private SudokuConstraints constraints;
+
+    // Every cell that was empty when solve started.  Entries before the
+    // current recursion depth have been filled; the rest are still open.
+    private int[] emptySquares;
+    private int emptyCount;
+
+    // The flat board the int[][] forms copy through.
+    private byte[] scratch;
+
+    private SearchOrder searchOrder;
+
+    // Draws the order in which each square's candidates are tried; null
+    // means lowest first.
+    private Random candidateOrder;
+
+    // How many complete boards the current search has reached, and how many
+    // it should reach before it stops.
+    private int solutionCount;
+    private int solutionLimit;
+
+    private SearchBudget budget;
+
+    /**
+     * Creates a solver using the MOST_CONSTRAINED search order.
+     */
+    public BacktrackingSolver() {
+        this(SearchOrder.MOST_CONSTRAINED);
+
+    }
+
+    /**
+     * Creates a solver using the specified search order.
+     *
+     * @param searchOrder The order in which to visit empty squares.
+     */
+    public BacktrackingSolver(SearchOrder searchOrder) {
+        constraints = new SudokuConstraints();
+        emptySquares = new int[SudokuGenerator.MAX_VALUE * SudokuGenerator.MAX_VALUE];
+        scratch = new byte[emptySquares.length];
+        this.searchOrder = searchOrder;
+
+    }
+
+    /**
+     * Accessor for the order used to pick the next square.
+     *
+     * @return The current search order.
+     */
+    public SearchOrder getSearchOrder() {
+        return this.searchOrder;
+
+    }
+
+    /**
+     * Selects the order used to pick the next square.
+     *
+     * @param searchOrder The order to use from now on.
+     */
+    public void setSearchOrder(SearchOrder searchOrder) {
+        this.searchOrder = searchOrder;
+
+    }
+
+    /**
+     * Accessor for the source of the candidate order.
+     *
+     * @return The Random in use, or null if candidates are tried lowest first.
+     */
+    public Random getCandidateOrder() {
+        return this.candidateOrder;
+
+    }
+
+    /**
+     * Makes the solver try the candidates of every square in an order drawn
+     * from random, so that the same board can give a different solution (and
+     * take a different path) every time. Pass null to go back to lowest first.
+     * <br><br>
+     * NOTE: A randomized search is what makes restarts worthwhile. An unlucky
+     * early choice can cost millions of nodes, but a fresh attempt is unlikely
+     * to make the same choice.
+     *
+     * @param random The source of the order, or null.
+     */
+    public void setCandidateOrder(Random random) {
+        this.candidateOrder = random;
+
+    }
+
+    /**
+     * Fills every empty square of board by backtracking. The empty squares are
+     * collected once up front; after that, each level of the recursion picks
+     * its square from the list according to the search order instead of
+     * rescanning the board from [0][0].
+     *
+     * @param board The array to complete, modified in place.
+     * @param budget Decides when to give up.
+     * @return True, if the board was solved.
+     */
+    @Override
+    public boolean solve(int[][] board, SearchBudget budget) {
+        byte[] cells = scratchFor(board);
+
+        if (!solve(cells, budget)) {
+            return false;
+
+        }
+
+        SudokuBoard.copy(cells, board);
+        return true;
+
+    }
+
+    /**
+     * Same as solve(board, budget), for a flat board.
+     *
+     * @param cells The board to complete, modified in place.
+     * @param budget Decides when to give up.
+     * @return True, if the board was solved.
+     */
+    @Override
+    public boolean solve(byte[] cells, SearchBudget budget) {
+        return run(cells, 1, budget) == 1;
+
+    }
+
+    /**
+     * Counts solutions by letting the backtracking continue past a complete
+     * board until limit of them have been reached.
+     *
+     * @param board The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    @Override
+    public int countSolutions(int[][] board, int limit, SearchBudget budget) {
+        return countSolutions(scratchFor(board), limit, budget);
+
+    }
+
+    /**
+     * Same as countSolutions(board, limit, budget), for a flat board. Every
+     * square filled along the way is emptied again before returning.
+     *
+     * @param cells The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    @Override
+    public int countSolutions(byte[] cells, int limit, SearchBudget budget) {
+        int count = run(cells, limit, budget);
+
+        // A successful search leaves its last solution on the board.
+        if (count == limit) {
+            for (int i = 0; i < emptyCount; i++) {
+                cells[emptySquares[i]] = 0;
+
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Copies an int[][] board into the scratch board, resizing it first if the
+     * order has changed.
+     *
+     * @param board The board to copy.
+     * @return The scratch board.
+     */
+    private byte[] scratchFor(int[][] board) {
+        if (scratch.length != board.length * board.length) {
+            scratch = new byte[board.length * board.length];
+
+        }
+
+        SudokuBoard.copy(board, scratch);
+
+        return scratch;
+
+    }
+
+    /**
+     * Shared body of solve and countSolutions. If limit solutions are found,
+     * the last one is left on the board; otherwise the board is restored.
+     *
+     * @param cells The board we're filling.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found.
+     */
+    private int run(byte[] cells, int limit, SearchBudget budget) {
+        this.solutionLimit = limit;
+        this.solutionCount = 0;
+        this.budget = budget;
+
+        // A board of another order needs masks and room of its own.
+        if (cells.length != emptySquares.length) {
+            constraints = new SudokuConstraints(SudokuBoard.orderOf(cells));
+            emptySquares = new int[cells.length];
+
+        }
+
+        // Capture the current placements once; from here on the masks are
+        // updated as values are tried and taken back.
+        constraints.load(cells);
+
+        // Record the open cells in row-major order.
+        emptyCount = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == 0) {
+                emptySquares[emptyCount++] = cell;
+
+            }
+
+        }
+
+        backtrack(cells, 0);
+
+        return solutionCount;
+
+    }
+
+    /**
+     * The recursive half of solve. Expects the constraint masks to already
+     * describe cells, and emptySquares[depth] onward to hold the cells that
+     * are still open.
+     *
+     * @param cells The board we're filling.
+     * @param depth The number of squares filled by this search so far.
+     * @return True once the search should stop: enough solutions have been
+     * reached (the last one is left on the board) or the budget ran out.
+     */
+    private boolean backtrack(byte[] cells, int depth) {
+        // Out of budget (time, nodes or cancelled), so let's unravel.
+        if (budget.tick()) {
+            return true;
+
+        }
+
+        // No open squares left, so we're finally at the end of the puzzle.
+        if (depth == emptyCount) {
+            return ++solutionCount >= solutionLimit;
+
+        }
+
+        // Move the square we want to fill next into position depth.
+        if (searchOrder == SearchOrder.MOST_CONSTRAINED) {
+            selectMostConstrained(depth);
+
+        }
+
+        int cell = emptySquares[depth];
+
+        // Loop exists to insert a value into the empty square selected above,
+        // starting with the lowest candidate (or a random one).  Only values
+        // that violate no rules are in the mask.
+        for (int mask = constraints.candidates(cell); mask != 0;) {
+            int testVal = (candidateOrder == null)
+                    ? Integer.numberOfTrailingZeros(mask)
+                    : SudokuConstraints.nthDigit(mask, candidateOrder.nextInt(Integer.bitCount(mask)));
+            mask &= ~(1 << testVal);
+
+            // Set the current index to the test value.
+            cells[cell] = (byte) testVal;
+            constraints.place(cell, testVal);
+
+            // Test by passing forward if this, combined with the next
+            // placement, constitute a safe move.
+            if (backtrack(cells, depth + 1)) {
+                // Unwinding a stopped search must still empty the board.
+                if (budget.isStopped()) {
+                    cells[cell] = 0;
+
+                }
+
+                return true;
+
+            }
+
+            // Reset the tested value to 0 because it don't work.
+            cells[cell] = 0;
+            constraints.unplace(cell, testVal);
+
+        }
+
+        // No candidate finished the search, so back up one level of recursion.
+        budget.backtrack();
+        return false;
+
+    }
+
+    /**
+     * Finds the open square with the fewest remaining candidates and swaps it
+     * into emptySquares[depth]. A square with no candidates at all is picked
+     * immediately, since that branch is already dead.
+     *
+     * @param depth The first position in emptySquares still open.
+     */
+    private void selectMostConstrained(int depth) {
+        int best = depth;
+        int bestCount = Integer.MAX_VALUE;
+
+        for (int i = depth; i < emptyCount; i++) {
+            int count = Integer.bitCount(constraints.candidates(emptySquares[i]));
+
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+
+                // Can't do better than zero or one.
+                if (count <= 1) {
+                    break;
+
+                }
+
+            }
+
+        }
+
+        // Swap; the order of the squares still open does not matter.
+        int temp = emptySquares[depth];
+        emptySquares[depth] = emptySquares[best];
+        emptySquares[best] = temp;
+
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Java Flight Recorder event for opening the default puzzle bank.
+ */
+package sdg;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The outcome is "loaded", or "failed" with the reason in message. Only
+ * create one when FlightRecording.IS_AVAILABLE.
+ */
+@Name("sdg.BankLoad")
+@Label("Puzzle Bank Load")
+@Category({"Sudoku", "Generation"})
+class BankLoadEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Records")
+    int records;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Message")
+    String message;
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Generates many puzzles at once by splitting the work across a
+ *          ForkJoinPool.  Each leaf task owns one SudokuGenerator for its
+ *          whole run, so workers share nothing while they generate.
+ */
+package sdg;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel bulk generation. Nothing here is stateful; the methods can be
+ * called from any thread.
+ */
+public class BatchGenerator {
+
+    // Ranges at or below this size are generated by a single task.  Large
+    // enough that building the generator and its solvers is amortized, small
+    // enough that work still spreads evenly over the pool.
+    private static final int LEAF_SIZE = 32;
+
+    private BatchGenerator() {
+    }
+
+    /**
+     * Generates count puzzles on the common ForkJoinPool, which by default
+     * has one worker per core.
+     *
+     * @param count The number of puzzles wanted.
+     * @param seed The number of squares seeded before each solve.
+     * @param hints The number of squares to uncover in each view.
+     * @return The puzzles, in no particular order.
+     */
+    public static List<SudokuPuzzle> generate(int count, int seed, int hints) {
+        return generate(ForkJoinPool.commonPool(), count, seed, hints);
+
+    }
+
+    /**
+     * Generates count puzzles on the specified pool.
+     *
+     * @param pool The pool to run on.
+     * @param count The number of puzzles wanted.
+     * @param seed The number of squares seeded before each solve.
+     * @param hints The number of squares to uncover in each view.
+     * @return The puzzles, in no particular order.
+     */
+    public static List<SudokuPuzzle> generate(ForkJoinPool pool, int count, int seed, int hints) {
+        SudokuPuzzle[] puzzles = new SudokuPuzzle[count];
+
+        pool.invoke(new GenerateRange(puzzles, 0, count, seed, hints));
+
+        return Arrays.asList(puzzles);
+
+    }
+
+    /**
+     * Fills puzzles[from] up to puzzles[to], splitting in half until the range
+     * is small enough to generate directly.
+     */
+    private static class GenerateRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SudokuPuzzle[] puzzles;
+        private final int from;
+        private final int to;
+        private final int seed;
+        private final int hints;
+
+        GenerateRange(SudokuPuzzle[] puzzles, int from, int to, int seed, int hints) {
+            this.puzzles = puzzles;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.hints = hints;
+
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                SudokuGenerator generator = new SudokuGenerator(seed, hints);
+                generator.setSolver(new DancingLinksSolver());
+
+                for (int i = from; i < to; i++) {
+                    generator.execute(seed, hints, null);
+                    puzzles[i] = generator.getPuzzle();
+
+                }
+
+                return;
+
+            }
+
+            int middle = (from + to) >>> 1;
+
+            invokeAll(new GenerateRange(puzzles, from, middle, seed, hints),
+                    new GenerateRange(puzzles, middle, to, seed, hints));
+
+        }
+
+    }
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Keeps track of which squares of a board being played break a rule
+ *          of Sudoku, as the player types.  Every row, column and block keeps
+ *          a count of each digit, so an edit touches six counters instead of
+ *          rescanning the units, and tells the caller exactly which squares
+ *          changed between clashing and not clashing.
+ */
+package sdg;
+
+/**
+ * Per-digit counts for every row, column and block of one board. A square is
+ * in conflict when the digit it holds appears more than once in any unit it
+ * belongs to, so both squares of a clash are marked, not just the one typed
+ * last.
+ * <br><br>
+ * Next to each count is the sum of the cells holding that digit in the unit.
+ * A square can only change state when one of its counts moves between one and
+ * two, and at that moment the sum names the other square, so no unit is ever
+ * scanned: set costs the same on a 25x25 board as on a 4x4 one.
+ * <br><br>
+ * NOTE: The tracker keeps its own copy of the values it is given; it does not
+ * read or write the caller's board.
+ */
+public class ConflictTracker {
+
+    // The most squares one edit can change: the square itself, plus the
+    // square left alone by the old digit and the one newly clashing with the
+    // new digit, in each of its three units.
+    public static final int MAX_CHANGED = 7;
+
+    private final int order;
+    private final int size;
+
+    private final byte[] values;
+
+    // The first counter of the row, column and block of each cell, three
+    // entries per cell; a digit is added to find its counter.
+    private final int[] unitsOfCell;
+
+    // One counter per unit and digit (slot 0 of each unit is unused), and
+    // the sum of the cells holding that digit there.
+    private final int[] counts;
+    private final int[] cellSums;
+
+    private final boolean[] isConflicted;
+    private int conflictCount;
+
+    // The cells the last edit changed the state of, and the cells it might
+    // have; both live until the next edit.
+    private final int[] changed;
+    private int changedCount;
+    private final int[] suspects;
+
+    /**
+     * Creates a tracker for an empty board of any supported order.
+     *
+     * @param order The width of a block; 3 for a classic board.
+     */
+    public ConflictTracker(int order) {
+        this.order = SudokuConstraints.checkOrder(order);
+        this.size = order * order;
+
+        int cells = size * size;
+        values = new byte[cells];
+        unitsOfCell = new int[cells * 3];
+        counts = new int[3 * size * (size + 1)];
+        cellSums = new int[counts.length];
+        isConflicted = new boolean[cells];
+        changed = new int[MAX_CHANGED];
+        suspects = new int[MAX_CHANGED];
+
+        // Rows first, then columns, then blocks.
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+
+            unitsOfCell[cell * 3] = row * (size + 1);
+            unitsOfCell[cell * 3 + 1] = (size + col) * (size + 1);
+            unitsOfCell[cell * 3 + 2] = (2 * size + SudokuConstraints.blockOf(row, col, order)) * (size + 1);
+
+        }
+
+    }
+
+    /**
+     * Accessor for the width of a block.
+     *
+     * @return The order of the board.
+     */
+    public int getOrder() {
+        return this.order;
+
+    }
+
+    /**
+     * Empties every square.
+     */
+    public void clear() {
+        SudokuBoard.clear(values);
+
+        for (int slot = 0; slot < counts.length; slot++) {
+            counts[slot] = 0;
+            cellSums[slot] = 0;
+
+        }
+
+        for (int cell = 0; cell < isConflicted.length; cell++) {
+            isConflicted[cell] = false;
+
+        }
+
+        conflictCount = 0;
+        changedCount = 0;
+
+    }
+
+    /**
+     * Replaces the whole board, for a new game. Nothing is reported as
+     * changed; callers restyle the whole board anyway.
+     *
+     * @param cells The board to track, as a flat board of the same order.
+     * @return The number of squares in conflict.
+     */
+    public int load(byte[] cells) {
+        clear();
+
+        for (int cell = 0; cell < cells.length; cell++) {
+            set(cell, cells[cell]);
+
+        }
+
+        changedCount = 0;
+
+        return conflictCount;
+
+    }
+
+    /**
+     * Writes one square and works out which squares changed state.
+     *
+     * @param cell The cell index, row * size + col.
+     * @param value The digit, or 0 to empty the square.
+     * @return The number of squares whose conflict state changed; read them
+     * with getChangedCell.
+     * @throws IllegalArgumentException If value is not a digit of the board.
+     */
+    public int set(int cell, int value) {
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException(value + " is not a digit of a " + size + "x" + size + " board.");
+
+        }
+
+        changedCount = 0;
+
+        int old = values[cell];
+        if (old == value) {
+            return 0;
+
+        }
+
+        int suspectCount = 0;
+        suspects[suspectCount++] = cell;
+
+        // Take the old digit out.  A unit left holding one copy frees the
+        // other square.
+        if (old != 0) {
+            for (int k = 0; k < 3; k++) {
+                int slot = unitsOfCell[cell * 3 + k] + old;
+                cellSums[slot] -= cell;
+
+                if (--counts[slot] == 1) {
+                    suspects[suspectCount++] = cellSums[slot];
+
+                }
+
+            }
+
+        }
+
+        values[cell] = (byte) value;
+
+        // Put the new one in.  A unit that held one copy now clashes with
+        // that square.
+        if (value != 0) {
+            for (int k = 0; k < 3; k++) {
+                int slot = unitsOfCell[cell * 3 + k] + value;
+
+                if (counts[slot]++ == 1) {
+                    suspects[suspectCount++] = cellSums[slot];
+
+                }
+
+                cellSums[slot] += cell;
+
+            }
+
+        }
+
+        // A square can turn up more than once; only its first visit can see
+        // a change, so it is reported once.
+        for (int i = 0; i < suspectCount; i++) {
+            int suspect = suspects[i];
+            boolean isNowConflicted = checkCell(suspect);
+
+            if (isNowConflicted != isConflicted[suspect]) {
+                isConflicted[suspect] = isNowConflicted;
+                conflictCount += isNowConflicted ? 1 : -1;
+                changed[changedCount++] = suspect;
+
+            }
+
+        }
+
+        return changedCount;
+
+    }
+
+    /**
+     * Accessor for one of the squares the last set changed.
+     *
+     * @param i 0 to the count set returned, less one.
+     * @return The cell index.
+     */
+    public int getChangedCell(int i) {
+        return changed[i];
+
+    }
+
+    /**
+     * Accessor for the value of a square.
+     *
+     * @param cell The cell index.
+     * @return The digit, or 0 if the square is empty.
+     */
+    public int get(int cell) {
+        return values[cell];
+
+    }
+
+    /**
+     * Copies the values into a flat board the caller owns, without
+     * allocating.
+     *
+     * @param cells Receives the values.
+     */
+    void copyTo(byte[] cells) {
+        System.arraycopy(values, 0, cells, 0, values.length);
+
+    }
+
+    /**
+     * Reports whether a square shares its digit with another in its row,
+     * column or block.
+     *
+     * @param cell The cell index.
+     * @return True, if the square is in conflict.
+     */
+    public boolean isConflicted(int cell) {
+        return isConflicted[cell];
+
+    }
+
+    /**
+     * Accessor for the number of squares in conflict.
+     *
+     * @return The count; zero means the board breaks no rule.
+     */
+    public int getConflictCount() {
+        return this.conflictCount;
+
+    }
+
+    /**
+     * Works out from the counters whether a square is in conflict.
+     *
+     * @param cell The cell index.
+     * @return True, if any unit of the square holds its digit twice or more.
+     */
+    private boolean checkCell(int cell) {
+        int value = values[cell];
+
+        if (value == 0) {
+            return false;
+
+        }
+
+        int base = cell * 3;
+
+        return counts[unitsOfCell[base] + value] > 1
+                || counts[unitsOfCell[base + 1] + value] > 1
+                || counts[unitsOfCell[base + 2] + value] > 1;
+
+    }
+
+}
@@ -0,0 +1,588 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Solves Sudoku as an exact-cover problem with Knuth's Algorithm X
+ *          on a dancing-links matrix.  Every (square, value) choice is a row
+ *          of the matrix that satisfies four constraints: the square is
+ *          filled, and the value appears once in the row, column and block.
+ *          A solution is a set of rows covering every constraint exactly once.
+ */
+package sdg;
+
+/**
+ * Dancing-links exact-cover solver. The matrix lives in a set of primitive
+ * arrays (the node arena) sized for an empty board and allocated once in the
+ * constructor. Each call links into the arena only what the clues leave open:
+ * a column for every constraint not yet satisfied and a row for every value
+ * an empty square can still take. Linking that reduced matrix is far cheaper
+ * than covering the clue rows of a full one, and since every call relinks
+ * from scratch, repeated solves reuse the same arena and allocate nothing.
+ */
+public class DancingLinksSolver implements SudokuSolver {
+
+    // Node 0 is the root and 1 to columns are the column headers, whether or
+    // not they are linked in.  The four nodes of the g-th row linked by a call
+    // start at firstNode + 4 * g.
+    private static final int ROOT = 0;
+
+    // The width of the board the arena is sized for, and its square count.
+    private int size;
+    private int squares;
+
+    // Four constraint families of squares columns each: square filled,
+    // value-in-row, value-in-column and value-in-block.
+    private int columns;
+    private int firstNode;
+
+    // The arena: left, right, up and down links plus the column header of
+    // every node, and the number of live nodes in every column.
+    private int[] left;
+    private int[] right;
+    private int[] up;
+    private int[] down;
+    private int[] column;
+    private int[] columnSize;
+
+    // The (square * size + digit) choice each linked row stands for.
+    private int[] rowChoice;
+
+    // The digits already used by the clues, per row, column and block.
+    private SudokuConstraints constraints;
+
+    // The nodes picked by the search so far.
+    private int[] chosen;
+    private int chosenCount;
+
+    // The flat board the int[][] forms copy through.
+    private byte[] scratch;
+
+    // Where to write the first solution found (null when only counting),
+    // and when to stop looking for more.
+    private byte[] solutionBoard;
+    private int solutionLimit;
+    private int solutionCount;
+
+    private SearchBudget budget;
+
+    /**
+     * Allocates the arena for an empty classic board.
+     */
+    public DancingLinksSolver() {
+        this(SudokuConstraints.BLOCK_SIZE);
+
+    }
+
+    /**
+     * Allocates the arena for an empty board of any supported order.
+     * <br><br>
+     * NOTE: Handing the solver a board of another order reallocates the
+     * arena for that order; it is only worth creating a solver per order
+     * when they alternate.
+     *
+     * @param order The width of a block; 3 for a classic board.
+     */
+    public DancingLinksSolver(int order) {
+        allocate(order);
+
+    }
+
+    /**
+     * Sizes the arena for an empty board of the specified order.
+     *
+     * @param order The width of a block.
+     */
+    private void allocate(int order) {
+        constraints = new SudokuConstraints(order);
+        size = constraints.getSize();
+        squares = size * size;
+        columns = 4 * squares;
+        firstNode = columns + 1;
+
+        // At most one matrix row for every value of every square.
+        int rows = squares * size;
+        int nodes = firstNode + 4 * rows;
+
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        columnSize = new int[columns + 1];
+        rowChoice = new int[rows];
+        chosen = new int[squares];
+        scratch = new byte[squares];
+
+        // A header is always its own column.
+        for (int c = 0; c <= columns; c++) {
+            column[c] = c;
+
+        }
+
+    }
+
+    /**
+     * Solves the board by running Algorithm X on what its clues leave open,
+     * always branching on the constraint with the fewest remaining options.
+     *
+     * @param board The array to complete, modified in place.
+     * @param budget Decides when to give up.
+     * @return True, if the board was solved.
+     */
+    @Override
+    public boolean solve(int[][] board, SearchBudget budget) {
+        byte[] cells = scratchFor(board);
+
+        if (!solve(cells, budget)) {
+            return false;
+
+        }
+
+        SudokuBoard.copy(cells, board);
+        return true;
+
+    }
+
+    /**
+     * Same as solve(board, budget), for a flat board.
+     *
+     * @param cells The board to complete, modified in place.
+     * @param budget Decides when to give up.
+     * @return True, if the board was solved.
+     */
+    @Override
+    public boolean solve(byte[] cells, SearchBudget budget) {
+        return run(cells, cells, 1, -1, budget) == 1;
+
+    }
+
+    /**
+     * Counts solutions the same way solve looks for one, but keeps going
+     * until limit solutions are found or the search space is exhausted.
+     *
+     * @param board The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    @Override
+    public int countSolutions(int[][] board, int limit, SearchBudget budget) {
+        return run(scratchFor(board), null, limit, -1, budget);
+
+    }
+
+    /**
+     * Same as countSolutions(board, limit, budget), for a flat board.
+     *
+     * @param cells The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    @Override
+    public int countSolutions(byte[] cells, int limit, SearchBudget budget) {
+        return run(cells, null, limit, -1, budget);
+
+    }
+
+    /**
+     * Looks for a solution of board in which the empty square (row, col) holds
+     * anything but val. If board plus that clue is known to be unique, a false
+     * result proves board itself is unique; this is the check a clue-removal
+     * digger needs, and it only has to find one solution rather than two.
+     *
+     * @param board The puzzle to examine, with (row, col) empty. It is not
+     * modified.
+     * @param row The row of the excluded square.
+     * @param col The column of the excluded square.
+     * @param val The value the square may not take.
+     * @param budget Decides when to give up.
+     * @return True, if such a solution exists (or the budget ran out, which
+     * the caller should treat the same way).
+     */
+    public boolean hasSolutionExcluding(int[][] board, int row, int col, int val, SearchBudget budget) {
+        return hasSolutionExcluding(scratchFor(board), row * board.length + col, val, budget);
+
+    }
+
+    /**
+     * Same as hasSolutionExcluding(board, row, col, val, budget), for a flat
+     * board.
+     *
+     * @param cells The puzzle to examine, with cell empty. It is not modified.
+     * @param cell The excluded square.
+     * @param val The value the square may not take.
+     * @param budget Decides when to give up.
+     * @return True, if such a solution exists (or the budget ran out).
+     */
+    public boolean hasSolutionExcluding(byte[] cells, int cell, int val, SearchBudget budget) {
+        run(cells, null, 1, cell * size + val - 1, budget);
+
+        return solutionCount > 0 || budget.isStopped();
+
+    }
+
+    /**
+     * Copies an int[][] board into the scratch board, resizing the arena
+     * first if the order has changed.
+     *
+     * @param board The board to copy.
+     * @return The scratch board.
+     */
+    private byte[] scratchFor(int[][] board) {
+        if (board.length != size) {
+            allocate(SudokuConstraints.orderOf(board));
+
+        }
+
+        SudokuBoard.copy(board, scratch);
+
+        return scratch;
+
+    }
+
+    /**
+     * Shared body of solve, countSolutions and hasSolutionExcluding.
+     *
+     * @param board The puzzle whose clues to respect.
+     * @param solutionBoard Where to write the first solution, or null.
+     * @param limit The count at which to stop searching.
+     * @param excludedChoice A (square * size + digit) choice to leave out of
+     * the matrix, or -1.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found.
+     */
+    private int run(byte[] board, byte[] solutionBoard, int limit, int excludedChoice, SearchBudget budget) {
+        this.solutionBoard = solutionBoard;
+        this.solutionLimit = limit;
+        this.solutionCount = 0;
+        this.chosenCount = 0;
+        this.budget = budget;
+
+        if (board.length != squares) {
+            allocate(SudokuBoard.orderOf(board));
+
+        }
+
+        // Clues that clash with each other mean there is nothing to search.
+        if (linkMatrix(board, excludedChoice)) {
+            search();
+
+        }
+
+        return solutionCount;
+
+    }
+
+    /**
+     * Links the reduced matrix for board into the arena: the header ring holds
+     * only unsatisfied constraints, and rows exist only for values that clash
+     * with no clue.
+     *
+     * @param board The puzzle whose clues to respect.
+     * @param excludedChoice A (square * size + digit) choice to leave out, or
+     * -1.
+     * @return False, if two clues clash; true otherwise.
+     */
+    private boolean linkMatrix(byte[] board, int excludedChoice) {
+        constraints.clear();
+
+        // Gather the clues, watching for any that repeat a value in a unit.
+        for (int square = 0; square < squares; square++) {
+            int val = board[square];
+
+            if (val != 0) {
+                if ((constraints.candidates(square) & (1 << val)) == 0) {
+                    return false;
+
+                }
+
+                constraints.place(square, val);
+
+            }
+
+        }
+
+        // The header ring, in constraint order.  A column is linked in only
+        // if no clue satisfies it already.
+        left[ROOT] = ROOT;
+        right[ROOT] = ROOT;
+
+        for (int square = 0; square < squares; square++) {
+            if (board[square] == 0) {
+                linkHeader(1 + square);
+
+            }
+
+        }
+
+        for (int unit = 0; unit < size; unit++) {
+            int free = constraints.freeInRow(unit);
+
+            for (int digit = 0; digit < size; digit++) {
+                if ((free & (2 << digit)) != 0) {
+                    linkHeader(1 + squares + unit * size + digit);
+
+                }
+
+            }
+
+        }
+
+        for (int unit = 0; unit < size; unit++) {
+            int free = constraints.freeInCol(unit);
+
+            for (int digit = 0; digit < size; digit++) {
+                if ((free & (2 << digit)) != 0) {
+                    linkHeader(1 + 2 * squares + unit * size + digit);
+
+                }
+
+            }
+
+        }
+
+        for (int unit = 0; unit < size; unit++) {
+            int free = constraints.freeInBlock(unit);
+
+            for (int digit = 0; digit < size; digit++) {
+                if ((free & (2 << digit)) != 0) {
+                    linkHeader(1 + 3 * squares + unit * size + digit);
+
+                }
+
+            }
+
+        }
+
+        // One row of four nodes for every value each empty square can take.
+        int first = firstNode;
+
+        for (int square = 0; square < squares; square++) {
+            if (board[square] != 0) {
+                continue;
+
+            }
+
+            int row = constraints.rowOf(square);
+            int col = constraints.colOf(square);
+            int block = constraints.blockOfCell(square);
+
+            for (int mask = constraints.candidates(square); mask != 0; mask &= mask - 1) {
+                int digit = Integer.numberOfTrailingZeros(mask) - 1;
+                int choice = square * size + digit;
+
+                if (choice == excludedChoice) {
+                    continue;
+
+                }
+
+                rowChoice[(first - firstNode) / 4] = choice;
+
+                appendNode(first, 1 + square);
+                appendNode(first + 1, 1 + squares + row * size + digit);
+                appendNode(first + 2, 1 + 2 * squares + col * size + digit);
+                appendNode(first + 3, 1 + 3 * squares + block * size + digit);
+
+                // Link the four nodes of the row into a ring.
+                left[first] = first + 3;
+                right[first] = first + 1;
+                left[first + 1] = first;
+                right[first + 1] = first + 2;
+                left[first + 2] = first + 1;
+                right[first + 2] = first + 3;
+                left[first + 3] = first + 2;
+                right[first + 3] = first;
+
+                first += 4;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Algorithm X. Returns with every cover it made undone, whether or not it
+     * found a solution.
+     *
+     * @return True, if the search should stop: enough solutions were found or
+     * the budget ran out.
+     */
+    private boolean search() {
+        if (budget.tick()) {
+            return true;
+
+        }
+
+        // Every constraint satisfied: the chosen rows are a solution.  Only
+        // the first one is written out.
+        if (right[ROOT] == ROOT) {
+            if (++solutionCount == 1 && solutionBoard != null) {
+                writeSolution(solutionBoard);
+
+            }
+
+            return solutionCount >= solutionLimit;
+
+        }
+
+        int target = smallestColumn();
+
+        // A constraint nothing can satisfy anymore; dead branch.
+        if (columnSize[target] == 0) {
+            budget.backtrack();
+            return false;
+
+        }
+
+        cover(target);
+
+        for (int node = down[target]; node != target; node = down[node]) {
+            chosen[chosenCount++] = node;
+
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+
+            }
+
+            boolean stop = search();
+
+            for (int j = left[node]; j != node; j = left[j]) {
+                uncover(column[j]);
+
+            }
+
+            chosenCount--;
+
+            if (stop) {
+                uncover(target);
+                return true;
+
+            }
+
+        }
+
+        uncover(target);
+        budget.backtrack();
+        return false;
+
+    }
+
+    /**
+     * Copies the value of every chosen row into board.
+     *
+     * @param board The board to fill.
+     */
+    private void writeSolution(byte[] board) {
+        for (int i = 0; i < chosenCount; i++) {
+            int choice = rowChoice[(chosen[i] - firstNode) / 4];
+
+            board[choice / size] = (byte) (choice % size + 1);
+
+        }
+
+    }
+
+    /**
+     * Finds the live column with the fewest nodes.
+     *
+     * @return The header node of that column.
+     */
+    private int smallestColumn() {
+        int best = right[ROOT];
+
+        for (int c = right[best]; c != ROOT; c = right[c]) {
+            if (columnSize[c] < columnSize[best]) {
+                best = c;
+
+                if (columnSize[c] <= 1) {
+                    break;
+
+                }
+
+            }
+
+        }
+
+        return best;
+
+    }
+
+    /**
+     * Removes column c from the header list and every row that has a node in
+     * c from the other columns it appears in.
+     *
+     * @param c The column header.
+     */
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                columnSize[column[j]]--;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Exact reverse of cover.
+     *
+     * @param c The column header.
+     */
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+
+            }
+
+        }
+
+        right[left[c]] = c;
+        left[right[c]] = c;
+
+    }
+
+    /**
+     * Appends an empty column header to the end of the header ring.
+     *
+     * @param c The column header.
+     */
+    private void linkHeader(int c) {
+        left[c] = left[ROOT];
+        right[c] = ROOT;
+        right[left[ROOT]] = c;
+        left[ROOT] = c;
+        up[c] = c;
+        down[c] = c;
+        columnSize[c] = 0;
+
+    }
+
+    /**
+     * Appends a node at the bottom of column c.
+     *
+     * @param node The node.
+     * @param c The column header.
+     */
+    private void appendNode(int node, int c) {
+        column[node] = c;
+        up[node] = up[c];
+        down[node] = c;
+        down[up[c]] = node;
+        up[c] = node;
+        columnSize[c]++;
+
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Java Flight Recorder event for a fallback to a pre-generated
+ *          solution.
+ */
+package sdg;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The outcome is "bank" (read from the puzzle bank) or "search" (no bank, so
+ * an empty board was solved instead). Only create one when
+ * FlightRecording.IS_AVAILABLE.
+ */
+@Name("sdg.Fallback")
+@Label("Pre-generated Fallback")
+@Category({"Sudoku", "Generation"})
+@Description("A generation that ran out of budget and used a pre-generated solution")
+class FallbackEvent extends jdk.jfr.Event {
+
+    @Label("Seed Count")
+    @Description("Squares seeded at random before each solve that was given up")
+    int seed;
+
+    @Label("Search Nodes")
+    @Description("Nodes spent before giving up")
+    long nodes;
+
+    @Label("Bank Record")
+    @Description("The record used, or -1")
+    int record;
+
+    @Label("Outcome")
+    String outcome;
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Tells whether this JVM has Java Flight Recorder, so that the
+ *          generator only ever touches its JFR events where they can load.
+ */
+package sdg;
+
+/**
+ * The events (GenerationEvent, SolveEvent, FallbackEvent, BankLoadEvent)
+ * extend jdk.jfr.Event, which a runtime linked without the jdk.jfr module
+ * doesn't have. Every use is guarded by IS_AVAILABLE; being a static final,
+ * the guard costs nothing once compiled.
+ * <br><br>
+ * NOTE: Recording is started from outside, for example with
+ * -XX:StartFlightRecording=filename=sudoku.jfr. The events are enabled by
+ * default and show up under the Sudoku category. The events created on every
+ * execute are only created when Probes says their type is being recorded, so
+ * generation allocates nothing for them the rest of the time.
+ */
+final class FlightRecording {
+
+    // True, if jdk.jfr is on this JVM.
+    static final boolean IS_AVAILABLE = isAvailable();
+
+    private FlightRecording() {
+
+    }
+
+    /**
+     * One idle instance of each event execute creates, kept only to ask
+     * isEnabled() before a real one is made. Only touched behind
+     * IS_AVAILABLE, so it never loads without JFR.
+     */
+    static final class Probes {
+
+        static final GenerationEvent GENERATION = new GenerationEvent();
+        static final SolveEvent SOLVE = new SolveEvent();
+        static final FallbackEvent FALLBACK = new FallbackEvent();
+
+        private Probes() {
+
+        }
+
+    }
+
+    /**
+     * Looks for the JFR event class without loading any of ours.
+     *
+     * @return True, if JFR events can be used.
+     */
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecording.class.getClassLoader());
+            return true;
+
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Java Flight Recorder event for one SudokuGenerator.execute call,
+ *          from seeding to the user's view.
+ */
+package sdg;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The outcome is "generated", "fallback" (a pre-generated solution was used)
+ * or "cancelled". Only create one when FlightRecording.IS_AVAILABLE.
+ */
+@Name("sdg.Generation")
+@Label("Puzzle Generation")
+@Category({"Sudoku", "Generation"})
+@Description("One execute call of a SudokuGenerator")
+class GenerationEvent extends jdk.jfr.Event {
+
+    @Label("Seed Count")
+    @Description("Squares seeded at random before each solve")
+    int seed;
+
+    @Label("Hints")
+    @Description("Clues wanted in the user's view")
+    int hints;
+
+    @Label("Search Nodes")
+    long nodes;
+
+    @Label("Restarts")
+    @Description("Seedings given up and started over")
+    int restarts;
+
+    @Label("Outcome")
+    String outcome;
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Counts what puzzle generation spends its time on: search nodes,
+ *          backtracks, retries, fallbacks and timeouts, plus a latency
+ *          histogram per phase of execute.  Readable in code as a snapshot,
+ *          or live over JMX.
+ */
+package sdg;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Every counter is striped (a LongAdder), so generators on many threads can
+ * record into the same metrics without contending. Generators add up their
+ * node and backtrack counts in their own SearchBudget and hand them over once
+ * per execute, so the hot search loop never touches a shared counter.
+ * <br><br>
+ * NOTE: Every generator records into getDefault() unless given metrics of
+ * its own with SudokuGenerator.setMetrics.
+ */
+public class GenerationMetrics implements GenerationMetricsMXBean {
+
+    public static final String OBJECT_NAME = "sdg:type=GenerationMetrics";
+
+    private static GenerationMetrics defaultMetrics;
+
+    /**
+     * The stages of execute that are timed.
+     */
+    public enum Phase {
+        // One whole execute call.
+        EXECUTE,
+        // Placing the random seeds of one attempt.
+        SEEDING,
+        // Solving the seeding that worked.
+        SOLVING,
+        // Solving a seeding that was given up on.
+        RETRYING,
+        // Loading (and disguising) a pre-generated solution.
+        FALLBACK,
+        // Uncovering the user's view.
+        DIGGING,
+        // Grading a candidate against a difficulty.
+        GRADING
+
+    }
+
+    private final LongAdder puzzles;
+    private final LongAdder searchNodes;
+    private final LongAdder backtracks;
+    private final LongAdder retries;
+    private final LongAdder fallbacks;
+    private final LongAdder timeouts;
+    private final LongAdder cancellations;
+    private final Map<Phase, LatencyHistogram> phases;
+
+    /**
+     * Creates metrics with every count at zero. They are not registered with
+     * JMX; only getDefault's are.
+     */
+    public GenerationMetrics() {
+        puzzles = new LongAdder();
+        searchNodes = new LongAdder();
+        backtracks = new LongAdder();
+        retries = new LongAdder();
+        fallbacks = new LongAdder();
+        timeouts = new LongAdder();
+        cancellations = new LongAdder();
+
+        phases = new EnumMap<Phase, LatencyHistogram>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+
+        }
+
+    }
+
+    /**
+     * The metrics shared by every generator, created and registered with the
+     * platform MBean server the first time they are asked for.
+     *
+     * @return The shared metrics.
+     */
+    public static synchronized GenerationMetrics getDefault() {
+        if (defaultMetrics == null) {
+            defaultMetrics = new GenerationMetrics();
+
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(defaultMetrics, new ObjectName(OBJECT_NAME));
+
+            } catch (JMException | SecurityException ex) { /* Still usable through snapshot. */ }
+
+        }
+
+        return defaultMetrics;
+
+    }
+
+    /**
+     * Records how long one occurrence of a phase took.
+     *
+     * @param phase The phase.
+     * @param nanos Its duration.
+     */
+    public void record(Phase phase, long nanos) {
+        phases.get(phase).record(nanos);
+
+    }
+
+    /**
+     * Records the search totals of one execute call.
+     *
+     * @param nodes The search nodes it visited.
+     * @param backtracks The dead ends it backed out of.
+     * @param retries The seedings it gave up on.
+     */
+    public void recordSearch(long nodes, long backtracks, int retries) {
+        this.searchNodes.add(nodes);
+        this.backtracks.add(backtracks);
+        this.retries.add(retries);
+
+    }
+
+    /**
+     * Counts an execute call that produced a puzzle.
+     */
+    public void recordPuzzle() {
+        puzzles.increment();
+
+    }
+
+    /**
+     * Counts a fallback to a pre-generated solution.
+     */
+    public void recordFallback() {
+        fallbacks.increment();
+
+    }
+
+    /**
+     * Counts an execute call whose budget ran out.
+     */
+    public void recordTimeout() {
+        timeouts.increment();
+
+    }
+
+    /**
+     * Counts an execute call that was cancelled.
+     */
+    public void recordCancellation() {
+        cancellations.increment();
+
+    }
+
+    @Override
+    public long getPuzzles() {
+        return puzzles.sum();
+
+    }
+
+    @Override
+    public long getSearchNodes() {
+        return searchNodes.sum();
+
+    }
+
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+
+    }
+
+    @Override
+    public long getFallbacks() {
+        return fallbacks.sum();
+
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.sum();
+
+    }
+
+    @Override
+    public long getCancellations() {
+        return cancellations.sum();
+
+    }
+
+    @Override
+    public Map<String, LatencyHistogram.Snapshot> getPhases() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new LinkedHashMap<String, LatencyHistogram.Snapshot>();
+
+        for (Phase phase : Phase.values()) {
+            snapshots.put(phase.name(), phases.get(phase).snapshot());
+
+        }
+
+        return snapshots;
+
+    }
+
+    /**
+     * Takes a copy of every figure as it stands.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        Map<Phase, LatencyHistogram.Snapshot> latencies = new EnumMap<Phase, LatencyHistogram.Snapshot>(Phase.class);
+
+        for (Phase phase : Phase.values()) {
+            latencies.put(phase, phases.get(phase).snapshot());
+
+        }
+
+        return new Snapshot(getPuzzles(), getSearchNodes(), getBacktracks(), getRetries(),
+                getFallbacks(), getTimeouts(), getCancellations(), latencies);
+
+    }
+
+    /**
+     * An immutable copy of the metrics.
+     */
+    public static class Snapshot {
+
+        private final long puzzles;
+        private final long searchNodes;
+        private final long backtracks;
+        private final long retries;
+        private final long fallbacks;
+        private final long timeouts;
+        private final long cancellations;
+        private final Map<Phase, LatencyHistogram.Snapshot> latencies;
+
+        private Snapshot(long puzzles, long searchNodes, long backtracks, long retries, long fallbacks,
+                long timeouts, long cancellations, Map<Phase, LatencyHistogram.Snapshot> latencies) {
+            this.puzzles = puzzles;
+            this.searchNodes = searchNodes;
+            this.backtracks = backtracks;
+            this.retries = retries;
+            this.fallbacks = fallbacks;
+            this.timeouts = timeouts;
+            this.cancellations = cancellations;
+            this.latencies = Collections.unmodifiableMap(latencies);
+
+        }
+
+        public long getPuzzles() {
+            return this.puzzles;
+
+        }
+
+        public long getSearchNodes() {
+            return this.searchNodes;
+
+        }
+
+        public long getBacktracks() {
+            return this.backtracks;
+
+        }
+
+        public long getRetries() {
+            return this.retries;
+
+        }
+
+        public long getFallbacks() {
+            return this.fallbacks;
+
+        }
+
+        public long getTimeouts() {
+            return this.timeouts;
+
+        }
+
+        public long getCancellations() {
+            return this.cancellations;
+
+        }
+
+        /**
+         * Accessor for the latency figures of a phase.
+         *
+         * @param phase The phase.
+         * @return The figures.
+         */
+        public LatencyHistogram.Snapshot getLatency(Phase phase) {
+            return latencies.get(phase);
+
+        }
+
+        /**
+         * The counters on one line, then one line per phase.
+         *
+         * @return The figures.
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+
+            text.append("puzzles ").append(puzzles)
+                    .append(", nodes ").append(searchNodes)
+                    .append(", backtracks ").append(backtracks)
+                    .append(", retries ").append(retries)
+                    .append(", fallbacks ").append(fallbacks)
+                    .append(", timeouts ").append(timeouts)
+                    .append(", cancellations ").append(cancellations)
+                    .append(System.lineSeparator());
+
+            for (Map.Entry<Phase, LatencyHistogram.Snapshot> entry : latencies.entrySet()) {
+                text.append(String.format("  %-9s ", entry.getKey())).append(entry.getValue())
+                        .append(System.lineSeparator());
+
+            }
+
+            return text.toString();
+
+        }
+
+    }
+
+}
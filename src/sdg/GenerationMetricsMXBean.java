@@ -0,0 +1,57 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: The management interface of GenerationMetrics, so that JConsole,
+ *          VisualVM or any other JMX client can watch generation live.
+ */
+package sdg;
+
+import java.util.Map;
+
+/**
+ * Every attribute is a running total since the metrics were created.
+ * Registered as sdg:type=GenerationMetrics.
+ */
+public interface GenerationMetricsMXBean {
+
+    /**
+     * @return The number of execute calls that produced a puzzle.
+     */
+    long getPuzzles();
+
+    /**
+     * @return The number of search nodes the solvers visited.
+     */
+    long getSearchNodes();
+
+    /**
+     * @return The number of dead ends the solvers backed out of.
+     */
+    long getBacktracks();
+
+    /**
+     * @return The number of seedings abandoned and started over.
+     */
+    long getRetries();
+
+    /**
+     * @return The number of times a pre-generated solution was used.
+     */
+    long getFallbacks();
+
+    /**
+     * @return The number of execute calls that ran out of time or nodes.
+     */
+    long getTimeouts();
+
+    /**
+     * @return The number of execute calls that were cancelled.
+     */
+    long getCancellations();
+
+    /**
+     * @return The latency figures of every phase, by phase name.
+     */
+    Map<String, LatencyHistogram.Snapshot> getPhases();
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Turns one Sudoku grid into another by applying the symmetries that
+ *          every valid grid has: relabeling the digits, shuffling the rows of
+ *          a band and the columns of a stack, shuffling the bands and stacks
+ *          themselves, and transposing.  A valid grid (or a puzzle with a
+ *          unique solution) stays valid (or unique) under all of them.
+ */
+package sdg;
+
+import java.util.Random;
+
+/**
+ * Random validity-preserving transformation of grids. On a classic board the
+ * symmetries give 9! * 6^8 * 2, or about 1.2 trillion, variants of every
+ * grid, and applying one is a single pass over the board with no searching.
+ * <br><br>
+ * A transformation is drawn once by randomize and then applied by transform
+ * to as many boards as needed; applying the same one to a solution and its
+ * puzzle keeps the pair matched.
+ * <br><br>
+ * NOTE: A transformer works on boards of the order it was created for.
+ */
+public class GridTransformer {
+
+    private final Random random;
+
+    // The width of a block, and of the board.
+    private final int order;
+    private final int size;
+
+    // The current transformation: the value each digit becomes (0 stays 0),
+    // the source row and column of every target row and column, and whether
+    // rows and columns swap places.
+    private final int[] digitMap;
+    private final int[] rowMap;
+    private final int[] colMap;
+    private boolean isTransposed;
+
+    // Scratch order of the bands (or stacks) while drawing.
+    private final int[] bandOrder;
+
+    // Scratch copy for transforming a board onto itself, and the flat board
+    // the int[][] form copies through.
+    private final byte[] scratch;
+    private final byte[] cells;
+
+    /**
+     * Creates a transformer with an unpredictable random sequence. Until
+     * randomize is called, the transformation is the identity.
+     */
+    public GridTransformer() {
+        this(new Random());
+
+    }
+
+    /**
+     * Creates a transformer that draws its transformations from random.
+     * Until randomize is called, the transformation is the identity.
+     *
+     * @param random The source of the transformations.
+     */
+    public GridTransformer(Random random) {
+        this(random, SudokuConstraints.BLOCK_SIZE);
+
+    }
+
+    /**
+     * Creates a transformer for boards of any supported order that draws its
+     * transformations from random.
+     *
+     * @param random The source of the transformations.
+     * @param order The width of a block; 3 for a classic board.
+     */
+    public GridTransformer(Random random, int order) {
+        this.random = random;
+        this.order = SudokuConstraints.checkOrder(order);
+        this.size = order * order;
+        this.digitMap = new int[size + 1];
+        this.rowMap = new int[size];
+        this.colMap = new int[size];
+        this.bandOrder = new int[order];
+        this.scratch = new byte[size * size];
+        this.cells = new byte[size * size];
+
+        for (int i = 0; i < size; i++) {
+            digitMap[i + 1] = i + 1;
+            rowMap[i] = i;
+            colMap[i] = i;
+
+        }
+
+    }
+
+    /**
+     * Draws a new transformation, uniformly from every combination of the
+     * symmetries.
+     */
+    public void randomize() {
+        // Digit relabeling: any permutation of 1 to size.
+        for (int i = 1; i <= size; i++) {
+            digitMap[i] = i;
+
+        }
+
+        shuffle(digitMap, 1, size);
+
+        randomizeLines(rowMap);
+        randomizeLines(colMap);
+
+        isTransposed = random.nextBoolean();
+
+    }
+
+    /**
+     * Applies the current transformation to source and writes the result to
+     * target. Empty squares stay empty.
+     *
+     * @param source The board to transform; it is not modified unless it is
+     * also target.
+     * @param target Receives the transformed board; may be source itself.
+     */
+    public void transform(int[][] source, int[][] target) {
+        SudokuBoard.copy(source, cells);
+        transform(cells, cells);
+        SudokuBoard.copy(cells, target);
+
+    }
+
+    /**
+     * Same as transform(source, target), for flat boards.
+     *
+     * @param source The board to transform; it is not modified unless it is
+     * also target.
+     * @param target Receives the transformed board; may be source itself.
+     */
+    public void transform(byte[] source, byte[] target) {
+        byte[] from = source;
+
+        // Transforming in place needs a copy to read from.
+        if (source == target) {
+            System.arraycopy(source, 0, scratch, 0, scratch.length);
+            from = scratch;
+
+        }
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int val = isTransposed
+                        ? from[colMap[col] * size + rowMap[row]]
+                        : from[rowMap[row] * size + colMap[col]];
+
+                target[row * size + col] = (byte) digitMap[val];
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Applies the current transformation to both halves of a puzzle.
+     *
+     * @param puzzle The puzzle to transform.
+     * @return The transformed puzzle; puzzle itself is not modified.
+     */
+    public SudokuPuzzle transform(SudokuPuzzle puzzle) {
+        int[][] solution = puzzle.getSolution();
+        int[][] display = puzzle.getDisplay();
+
+        transform(solution, solution);
+        transform(display, display);
+
+        return new SudokuPuzzle(solution, display);
+
+    }
+
+    /**
+     * Fills map with a random line order that keeps every line in a band (or
+     * stack): the bands are shuffled, then the lines within each.
+     *
+     * @param map Receives the source line of every target line.
+     */
+    private void randomizeLines(int[] map) {
+        for (int band = 0; band < order; band++) {
+            bandOrder[band] = band;
+
+        }
+
+        shuffle(bandOrder, 0, order);
+
+        for (int band = 0; band < order; band++) {
+            for (int line = 0; line < order; line++) {
+                map[band * order + line] = bandOrder[band] * order + line;
+
+            }
+
+            shuffle(map, band * order, order);
+
+        }
+
+    }
+
+    /**
+     * Fisher-Yates shuffle of a range of an array.
+     *
+     * @param array The array.
+     * @param from The first index of the range.
+     * @param length The length of the range.
+     */
+    private void shuffle(int[] array, int from, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = array[from + i];
+            array[from + i] = array[from + j];
+            array[from + j] = temp;
+
+        }
+
+    }
+
+}
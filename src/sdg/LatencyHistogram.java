@@ -0,0 +1,176 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: A latency histogram any number of threads can record into at
+ *          once without contending: one striped counter per power-of-two
+ *          bucket of nanoseconds.
+ */
+package sdg;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bucket b holds the durations from 2^(b-1) up to 2^b - 1 nanoseconds, so
+ * percentiles are only exact to within a factor of two; that is plenty to
+ * tell a 50 microsecond phase from a 5 millisecond one. The total and the
+ * maximum are exact.
+ * <br><br>
+ * NOTE: Recording costs a few uncontended adds. A snapshot taken while
+ * others record is not atomic, but every count in it is one that really
+ * happened.
+ */
+public class LatencyHistogram {
+
+    // One bucket per bit of a long, plus one for zero.
+    private static final int BUCKETS = 65;
+
+    private final LongAdder[] buckets;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = new LongAdder();
+
+        }
+
+        totalNanos = new LongAdder();
+        maxNanos = new LongAccumulator(Math::max, 0);
+
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration; negative values (a clock hiccup) count as
+     * zero.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+
+    }
+
+    /**
+     * Takes a copy of the histogram as it stands.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = buckets[b].sum();
+            total += counts[b];
+
+        }
+
+        // No percentile can be above the largest duration seen.
+        long max = maxNanos.get();
+
+        return new Snapshot(total, totalNanos.sum(), max,
+                Math.min(percentile(counts, total, 0.50), max), Math.min(percentile(counts, total, 0.90), max),
+                Math.min(percentile(counts, total, 0.99), max));
+
+    }
+
+    /**
+     * Finds the bucket a percentile falls in.
+     *
+     * @param counts The bucket counts.
+     * @param total Their sum.
+     * @param fraction The percentile, as a fraction.
+     * @return The upper bound of the bucket, in nanoseconds.
+     */
+    private static long percentile(long[] counts, long total, double fraction) {
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+
+            if (seen >= rank && seen > 0) {
+                return (b == 0) ? 0 : (b >= Long.SIZE - 1) ? Long.MAX_VALUE : (1L << b) - 1;
+
+            }
+
+        }
+
+        return 0;
+
+    }
+
+    /**
+     * An immutable copy of a histogram's figures. Its getters make it show
+     * up as a composite value in JMX consoles.
+     */
+    public static class Snapshot {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+
+        @ConstructorProperties({"count", "totalNanos", "maxNanos", "p50Nanos", "p90Nanos", "p99Nanos"})
+        public Snapshot(long count, long totalNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+
+        }
+
+        public long getCount() {
+            return this.count;
+
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+
+        }
+
+        public long getMaxNanos() {
+            return this.maxNanos;
+
+        }
+
+        public long getP50Nanos() {
+            return this.p50Nanos;
+
+        }
+
+        public long getP90Nanos() {
+            return this.p90Nanos;
+
+        }
+
+        public long getP99Nanos() {
+            return this.p99Nanos;
+
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d total=%.1fms p50<=%.3fms p90<=%.3fms p99<=%.3fms max=%.3fms",
+                    count, totalNanos / 1e6, p50Nanos / 1e6, p90Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+
+        }
+
+    }
+
+}
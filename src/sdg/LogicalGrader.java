@@ -0,0 +1,864 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Solves a puzzle the way a person would, one deduction at a time,
+ *          and grades it by the hardest deduction it needed.  Unlike the
+ *          search-based solvers, it never guesses: if none of its techniques
+ *          makes progress, it stops and says so.
+ */
+package sdg;
+
+/**
+ * Rule-based solver and difficulty grader. Every empty square carries a mask
+ * of its remaining candidates (bit v for value v, as in SudokuConstraints),
+ * and every technique works on those masks:
+ * <ul>
+ * <li>NAKED_SINGLE: a square with one candidate left.</li>
+ * <li>HIDDEN_SINGLE: a value with one place left in a row, column or
+ * block.</li>
+ * <li>LOCKED_CANDIDATES: a value confined to one line of a block (pointing)
+ * or one block of a line (claiming) is removed from the rest of that line or
+ * block.</li>
+ * <li>NAKED_PAIR/TRIPLE: two (three) squares of a unit whose candidates are
+ * two (three) values between them own those values in the unit.</li>
+ * <li>HIDDEN_PAIR/TRIPLE: two (three) values with only two (three) places in
+ * a unit clear every other candidate from those places.</li>
+ * <li>X_WING/SWORDFISH: a value confined to the same two (three) columns in
+ * two (three) rows is removed from the rest of those columns, and the same
+ * with rows and columns swapped.</li>
+ * </ul>
+ * After every step the grader starts again from the simplest technique, so
+ * the hardest technique reported really was needed.
+ * <br><br>
+ * NOTE: The grader keeps its working state between calls, so an instance
+ * must not be shared between threads. Nothing is allocated per call except
+ * the PuzzleGrade returned. It grades boards of the order it was created for.
+ */
+public class LogicalGrader {
+
+    /**
+     * The techniques, from simplest to hardest, with the weight each step
+     * adds to a puzzle's score.
+     */
+    public enum Technique {
+        NAKED_SINGLE(1),
+        HIDDEN_SINGLE(2),
+        LOCKED_CANDIDATES(8),
+        NAKED_PAIR(15),
+        HIDDEN_PAIR(20),
+        NAKED_TRIPLE(25),
+        HIDDEN_TRIPLE(30),
+        X_WING(40),
+        SWORDFISH(60);
+
+        private final int weight;
+
+        private Technique(int weight) {
+            this.weight = weight;
+
+        }
+
+        public int getWeight() {
+            return this.weight;
+
+        }
+
+    }
+
+    // The largest naked or hidden subset, and fish, looked for.
+    private static final int MAX_SUBSET = 3;
+
+    // The width of the board graded, its square count and its digits.
+    private final int size;
+    private final int squares;
+    private final int allDigits;
+
+    // Units 0 to size - 1 are the rows, the next size the columns and the
+    // last size the blocks.  units[u][i] is the board index of the i-th
+    // square of unit u, and unitsOf[square] holds its row, column and block
+    // units.
+    private final int unitCount;
+    private final int[][] units;
+    private final int[][] unitsOf;
+
+    private final SudokuConstraints constraints;
+
+    // The board being solved and the candidates of its empty squares.
+    private final int[] values;
+    private final int[] candidates;
+    private int emptyCount;
+
+    // The flat board the int[][] forms copy through.
+    private final byte[] cells;
+
+    // The hardest technique the last run used, and its score.
+    private Technique hardest;
+    private int score;
+
+    // Set when some square or unit runs out of options; the puzzle has no
+    // solution from here.
+    private boolean isContradiction;
+
+    // Steps taken so far, per technique.
+    private final int[] techniqueCounts;
+
+    // Scratch for the subset techniques: the masks that may take part,
+    // what each stands for, and the current combination of them.
+    private final int[] setMasks;
+    private final int[] setKeys;
+    private final int[] combination;
+
+    /**
+     * Creates a grader for classic boards.
+     */
+    public LogicalGrader() {
+        this(SudokuConstraints.BLOCK_SIZE);
+
+    }
+
+    /**
+     * Creates a grader for boards of any supported order.
+     * <br><br>
+     * NOTE: The techniques work the same on every order, but the bands of
+     * Difficulty were chosen for classic boards.
+     *
+     * @param order The width of a block; 3 for a classic board.
+     */
+    public LogicalGrader(int order) {
+        constraints = new SudokuConstraints(order);
+        size = constraints.getSize();
+        squares = size * size;
+        allDigits = constraints.getAllDigits();
+
+        unitCount = 3 * size;
+        units = new int[unitCount][size];
+        unitsOf = new int[squares][3];
+
+        for (int square = 0; square < squares; square++) {
+            int row = square / size;
+            int col = square % size;
+            int block = constraints.block(row, col);
+            int inBlock = (row % order) * order + col % order;
+
+            units[row][col] = square;
+            units[size + col][row] = square;
+            units[2 * size + block][inBlock] = square;
+
+            unitsOf[square][0] = row;
+            unitsOf[square][1] = size + col;
+            unitsOf[square][2] = 2 * size + block;
+
+        }
+
+        values = new int[squares];
+        candidates = new int[squares];
+        cells = new byte[squares];
+        techniqueCounts = new int[Technique.values().length];
+        setMasks = new int[size];
+        setKeys = new int[size];
+        combination = new int[MAX_SUBSET];
+
+    }
+
+    /**
+     * Grades a puzzle with every technique available.
+     *
+     * @param puzzle The puzzle; zeroes are empty squares. It is not modified.
+     * @return The grade.
+     */
+    public PuzzleGrade grade(int[][] puzzle) {
+        return grade(puzzle, Technique.SWORDFISH);
+
+    }
+
+    /**
+     * Grades a puzzle using no technique harder than ceiling. Grading stops
+     * as soon as the allowed techniques are stuck, which makes this a cheap
+     * test of "needs nothing harder than ceiling".
+     *
+     * @param puzzle The puzzle; zeroes are empty squares. It is not modified.
+     * @param ceiling The hardest technique to try.
+     * @return The grade; isSolved is false if the allowed techniques were
+     * not enough.
+     */
+    public PuzzleGrade grade(int[][] puzzle, Technique ceiling) {
+        SudokuBoard.copy(puzzle, cells);
+
+        return grade(cells, ceiling);
+
+    }
+
+    /**
+     * Same as grade(puzzle, ceiling), for a flat board.
+     *
+     * @param puzzle The puzzle; zeroes are empty squares. It is not modified.
+     * @param ceiling The hardest technique to try.
+     * @return The grade.
+     */
+    public PuzzleGrade grade(byte[] puzzle, Technique ceiling) {
+        boolean isSolved = check(puzzle, ceiling);
+
+        return new PuzzleGrade(isSolved, hardest, score, techniqueCounts);
+
+    }
+
+    /**
+     * Grades a puzzle like grade(puzzle, ceiling), but without building a
+     * PuzzleGrade, so the generator can sort candidates without allocating.
+     * getHardest tells the hardest technique used.
+     *
+     * @param puzzle The puzzle; zeroes are empty squares. It is not modified.
+     * @param ceiling The hardest technique to try.
+     * @return True, if the allowed techniques finished the puzzle.
+     */
+    boolean check(byte[] puzzle, Technique ceiling) {
+        hardest = null;
+        score = 0;
+
+        load(puzzle);
+
+        while (emptyCount > 0 && !isContradiction) {
+            Technique used = step(ceiling);
+
+            // Nothing we're allowed to try makes progress.
+            if (used == null) {
+                break;
+
+            }
+
+            if (hardest == null || used.compareTo(hardest) > 0) {
+                hardest = used;
+
+            }
+
+            score += used.getWeight();
+
+        }
+
+        return emptyCount == 0 && !isContradiction;
+
+    }
+
+    /**
+     * Accessor for the hardest technique the last check or grade used.
+     *
+     * @return The technique, or null if none was needed.
+     */
+    Technique getHardest() {
+        return this.hardest;
+
+    }
+
+    /**
+     * Sets up the values and candidates of a puzzle.
+     *
+     * @param puzzle The puzzle.
+     */
+    private void load(byte[] puzzle) {
+        constraints.load(puzzle);
+        emptyCount = 0;
+        isContradiction = false;
+
+        for (int i = 0; i < techniqueCounts.length; i++) {
+            techniqueCounts[i] = 0;
+
+        }
+
+        for (int square = 0; square < squares; square++) {
+            values[square] = puzzle[square];
+
+            if (values[square] == 0) {
+                candidates[square] = constraints.candidates(square);
+                emptyCount++;
+
+                if (candidates[square] == 0) {
+                    isContradiction = true;
+
+                }
+
+            } else {
+                candidates[square] = 0;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Takes one step with the simplest technique that makes progress.
+     *
+     * @param ceiling The hardest technique to try.
+     * @return The technique used, or null if none made progress.
+     */
+    private Technique step(Technique ceiling) {
+        for (Technique technique : Technique.values()) {
+            if (technique.compareTo(ceiling) > 0) {
+                return null;
+
+            }
+
+            if (apply(technique)) {
+                techniqueCounts[technique.ordinal()]++;
+                return technique;
+
+            }
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Makes one deduction with a technique.
+     *
+     * @param technique The technique to try.
+     * @return True, if the board changed.
+     */
+    private boolean apply(Technique technique) {
+        switch (technique) {
+            case NAKED_SINGLE:
+                return nakedSingle();
+
+            case HIDDEN_SINGLE:
+                return hiddenSingle();
+
+            case LOCKED_CANDIDATES:
+                return lockedCandidates();
+
+            case NAKED_PAIR:
+                return nakedSubset(2);
+
+            case HIDDEN_PAIR:
+                return hiddenSubset(2);
+
+            case NAKED_TRIPLE:
+                return nakedSubset(3);
+
+            case HIDDEN_TRIPLE:
+                return hiddenSubset(3);
+
+            case X_WING:
+                return fish(2);
+
+            default:
+                return fish(3);
+
+        }
+
+    }
+
+    /**
+     * Places the value of the first square with a single candidate.
+     *
+     * @return True, if a value was placed.
+     */
+    private boolean nakedSingle() {
+        for (int square = 0; square < squares; square++) {
+            int mask = candidates[square];
+
+            if (values[square] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                place(square, Integer.numberOfTrailingZeros(mask));
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Places the first value found with a single possible square in some
+     * unit.
+     *
+     * @return True, if a value was placed.
+     */
+    private boolean hiddenSingle() {
+        for (int unit = 0; unit < unitCount; unit++) {
+            int once = 0;
+            int twice = 0;
+            int placed = 0;
+
+            // Values seen once, and values seen more than once.
+            for (int i = 0; i < size; i++) {
+                int square = units[unit][i];
+                int mask = candidates[square];
+
+                twice |= once & mask;
+                once |= mask;
+                placed |= 1 << values[square];
+
+            }
+
+            // A value that is neither placed nor possible anywhere.
+            if (((once | placed) & allDigits) != allDigits) {
+                isContradiction = true;
+                return false;
+
+            }
+
+            int single = once & ~twice;
+
+            if (single != 0) {
+                int val = Integer.numberOfTrailingZeros(single);
+
+                for (int i = 0; i < size; i++) {
+                    int square = units[unit][i];
+
+                    if ((candidates[square] & (1 << val)) != 0) {
+                        place(square, val);
+                        return true;
+
+                    }
+
+                }
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Finds one pointing or claiming pattern that removes a candidate.
+     *
+     * @return True, if a candidate was removed.
+     */
+    private boolean lockedCandidates() {
+        for (int val = 1; val <= size; val++) {
+            int bit = 1 << val;
+
+            // Pointing: within a block, val fits only one row or column.
+            for (int block = 0; block < size; block++) {
+                int unit = 2 * size + block;
+                int rows = 0;
+                int cols = 0;
+
+                for (int i = 0; i < size; i++) {
+                    int square = units[unit][i];
+
+                    if ((candidates[square] & bit) != 0) {
+                        rows |= 1 << (square / size);
+                        cols |= 1 << (square % size);
+
+                    }
+
+                }
+
+                if (Integer.bitCount(rows) == 1
+                        && eliminate(Integer.numberOfTrailingZeros(rows), bit, 2, unit)) {
+                    return true;
+
+                }
+
+                if (Integer.bitCount(cols) == 1
+                        && eliminate(size + Integer.numberOfTrailingZeros(cols), bit, 2, unit)) {
+                    return true;
+
+                }
+
+            }
+
+            // Claiming: within a row or column, val fits only one block.
+            for (int line = 0; line < 2 * size; line++) {
+                int blocks = 0;
+
+                for (int i = 0; i < size; i++) {
+                    int square = units[line][i];
+
+                    if ((candidates[square] & bit) != 0) {
+                        blocks |= 1 << (unitsOf[square][2] - 2 * size);
+
+                    }
+
+                }
+
+                if (Integer.bitCount(blocks) == 1
+                        && eliminate(2 * size + Integer.numberOfTrailingZeros(blocks), bit, line / size, line)) {
+                    return true;
+
+                }
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Finds one naked subset of size k that removes a candidate.
+     *
+     * @param k The subset size, 2 or 3.
+     * @return True, if a candidate was removed.
+     */
+    private boolean nakedSubset(int k) {
+        for (int unit = 0; unit < unitCount; unit++) {
+            // Only squares with 2 to k candidates can be part of one.
+            int count = 0;
+
+            for (int i = 0; i < size; i++) {
+                int bits = Integer.bitCount(candidates[units[unit][i]]);
+
+                if (bits >= 2 && bits <= k) {
+                    setMasks[count] = candidates[units[unit][i]];
+                    setKeys[count] = i;
+                    count++;
+
+                }
+
+            }
+
+            if (count < k) {
+                continue;
+
+            }
+
+            startCombination(k);
+
+            do {
+                int union = 0;
+                int members = 0;
+
+                for (int j = 0; j < k; j++) {
+                    union |= setMasks[combination[j]];
+                    members |= 1 << setKeys[combination[j]];
+
+                }
+
+                if (Integer.bitCount(union) != k) {
+                    continue;
+
+                }
+
+                // These k squares own these k values; nobody else in the
+                // unit may have them.
+                boolean isChanged = false;
+
+                for (int i = 0; i < size; i++) {
+                    if ((members & (1 << i)) == 0 && removeCandidates(units[unit][i], union)) {
+                        isChanged = true;
+
+                    }
+
+                }
+
+                if (isChanged) {
+                    return true;
+
+                }
+
+            } while (nextCombination(k, count));
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Finds one hidden subset of size k that removes a candidate.
+     *
+     * @param k The subset size, 2 or 3.
+     * @return True, if a candidate was removed.
+     */
+    private boolean hiddenSubset(int k) {
+        for (int unit = 0; unit < unitCount; unit++) {
+            // The places each value has left in this unit; only values with
+            // 2 to k of them can be part of one.
+            int count = 0;
+
+            for (int val = 1; val <= size; val++) {
+                int places = 0;
+
+                for (int i = 0; i < size; i++) {
+                    if ((candidates[units[unit][i]] & (1 << val)) != 0) {
+                        places |= 1 << i;
+
+                    }
+
+                }
+
+                int bits = Integer.bitCount(places);
+
+                if (bits >= 2 && bits <= k) {
+                    setMasks[count] = places;
+                    setKeys[count] = val;
+                    count++;
+
+                }
+
+            }
+
+            if (count < k) {
+                continue;
+
+            }
+
+            startCombination(k);
+
+            do {
+                int union = 0;
+                int digits = 0;
+
+                for (int j = 0; j < k; j++) {
+                    union |= setMasks[combination[j]];
+                    digits |= 1 << setKeys[combination[j]];
+
+                }
+
+                if (Integer.bitCount(union) != k) {
+                    continue;
+
+                }
+
+                // These k values must go in these k squares, so the squares
+                // can't hold anything else.
+                boolean isChanged = false;
+
+                for (int i = 0; i < size; i++) {
+                    if ((union & (1 << i)) != 0 && removeCandidates(units[unit][i], ~digits)) {
+                        isChanged = true;
+
+                    }
+
+                }
+
+                if (isChanged) {
+                    return true;
+
+                }
+
+            } while (nextCombination(k, count));
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Finds one fish of size k (X-Wing for 2, Swordfish for 3) that removes a
+     * candidate, with rows as the base lines and then with columns.
+     *
+     * @param k The fish size, 2 or 3.
+     * @return True, if a candidate was removed.
+     */
+    private boolean fish(int k) {
+        for (int val = 1; val <= size; val++) {
+            int bit = 1 << val;
+
+            for (int base = 0; base < 2; base++) {
+                // Base lines (rows, then columns) where val has 2 to k
+                // places; each place is the index of a cover line.
+                int count = 0;
+
+                for (int line = 0; line < size; line++) {
+                    int places = 0;
+
+                    for (int i = 0; i < size; i++) {
+                        if ((candidates[units[base * size + line][i]] & bit) != 0) {
+                            places |= 1 << i;
+
+                        }
+
+                    }
+
+                    int bits = Integer.bitCount(places);
+
+                    if (bits >= 2 && bits <= k) {
+                        setMasks[count] = places;
+                        setKeys[count] = line;
+                        count++;
+
+                    }
+
+                }
+
+                if (count < k) {
+                    continue;
+
+                }
+
+                startCombination(k);
+
+                do {
+                    int union = 0;
+                    int baseLines = 0;
+
+                    for (int j = 0; j < k; j++) {
+                        union |= setMasks[combination[j]];
+                        baseLines |= 1 << setKeys[combination[j]];
+
+                    }
+
+                    if (Integer.bitCount(union) != k) {
+                        continue;
+
+                    }
+
+                    // val is in these cover lines within the base lines, so
+                    // the rest of each cover line can't have it.  Square i
+                    // of a cover line lies on base line i.
+                    boolean isChanged = false;
+
+                    for (int cover = 0; cover < size; cover++) {
+                        if ((union & (1 << cover)) == 0) {
+                            continue;
+
+                        }
+
+                        for (int i = 0; i < size; i++) {
+                            if ((baseLines & (1 << i)) == 0
+                                    && removeCandidates(units[(1 - base) * size + cover][i], bit)) {
+                                isChanged = true;
+
+                            }
+
+                        }
+
+                    }
+
+                    if (isChanged) {
+                        return true;
+
+                    }
+
+                } while (nextCombination(k, count));
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Removes a candidate from every square of a unit that is not also in
+     * another unit.
+     *
+     * @param unit The unit to clear.
+     * @param bit The candidate bit to remove.
+     * @param kind Which of unitsOf identifies the unit to spare: 0 row, 1
+     * column, 2 block.
+     * @param spared The unit whose squares keep the candidate.
+     * @return True, if anything was removed.
+     */
+    private boolean eliminate(int unit, int bit, int kind, int spared) {
+        boolean isChanged = false;
+
+        for (int i = 0; i < size; i++) {
+            int square = units[unit][i];
+
+            if (unitsOf[square][kind] != spared && removeCandidates(square, bit)) {
+                isChanged = true;
+
+            }
+
+        }
+
+        return isChanged;
+
+    }
+
+    /**
+     * Removes candidates from an empty square.
+     *
+     * @param square The board index.
+     * @param mask The candidate bits to remove.
+     * @return True, if the square lost any.
+     */
+    private boolean removeCandidates(int square, int mask) {
+        if ((candidates[square] & mask) == 0) {
+            return false;
+
+        }
+
+        candidates[square] &= ~mask;
+
+        if (candidates[square] == 0) {
+            isContradiction = true;
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Fills a square and removes its value from the candidates of every
+     * square it sees.
+     *
+     * @param square The board index.
+     * @param val The value.
+     */
+    private void place(int square, int val) {
+        values[square] = val;
+        candidates[square] = 0;
+        emptyCount--;
+
+        for (int u = 0; u < 3; u++) {
+            int unit = unitsOf[square][u];
+
+            for (int i = 0; i < size; i++) {
+                removeCandidates(units[unit][i], 1 << val);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Sets combination to the first k-combination: 0, 1, ..., k - 1.
+     *
+     * @param k The combination size.
+     */
+    private void startCombination(int k) {
+        for (int j = 0; j < k; j++) {
+            combination[j] = j;
+
+        }
+
+    }
+
+    /**
+     * Advances combination to the next k-combination of 0 to n - 1, in
+     * lexicographic order.
+     *
+     * @param k The combination size.
+     * @param n The number of items.
+     * @return False, if that was the last one.
+     */
+    private boolean nextCombination(int k, int n) {
+        int j = k - 1;
+
+        while (j >= 0 && combination[j] == n - k + j) {
+            j--;
+
+        }
+
+        if (j < 0) {
+            return false;
+
+        }
+
+        combination[j]++;
+
+        for (int i = j + 1; i < k; i++) {
+            combination[i] = combination[i - 1] + 1;
+
+        }
+
+        return true;
+
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: The board the player is filling in, kept as a flat board next to
+ *          the solution it should end up as.  Counters of filled squares and
+ *          of squares that disagree with the solution are updated on every
+ *          edit, so "is it finished?" and "is it right?" are answered without
+ *          looking at the squares at all.
+ */
+package sdg;
+
+/**
+ * A game in progress: the player's values, the solution, and the conflicts
+ * between the player's values (through a ConflictTracker). Every edit goes
+ * through set, which keeps all three counters in step in constant time.
+ * <br><br>
+ * checkSolvable answers whether the squares filled so far can still be
+ * completed, fast enough to ask after every entry.
+ * <br><br>
+ * NOTE: The board keeps copies of what it is loaded with; the generator's
+ * arrays can be reused for the next puzzle while this game goes on.
+ */
+public class PlayerBoard {
+
+    /**
+     * What checkSolvable found out about the board.
+     */
+    public enum Solvability {
+        // Some way of filling the empty squares completes a valid Sudoku.
+        SOLVABLE,
+        // No way of filling the empty squares can.
+        DEAD_END,
+        // The search ran out of nodes before it could tell.
+        UNKNOWN
+
+    }
+
+    // How many search nodes checkSolvable may spend; a few hundred
+    // microseconds on a classic board, even at the limit.
+    public static final long SOLVABLE_CHECK_NODES = 20_000;
+
+    private final byte[] solution;
+    private final ConflictTracker conflicts;
+
+    // What checkSolvable searches with, made the first time it is needed and
+    // reused from then on.
+    private DancingLinksSolver checkSolver;
+    private SearchBudget checkBudget;
+    private byte[] checkCells;
+
+    // Squares holding any digit, and squares holding one that is not the
+    // solution's.
+    private int filledCount;
+    private int mismatchCount;
+
+    /**
+     * Creates an empty board of any supported order.
+     *
+     * @param order The width of a block; 3 for a classic board.
+     */
+    public PlayerBoard(int order) {
+        solution = SudokuBoard.create(order);
+        conflicts = new ConflictTracker(order);
+
+    }
+
+    /**
+     * Accessor for the width of a block.
+     *
+     * @return The order of the board.
+     */
+    public int getOrder() {
+        return conflicts.getOrder();
+
+    }
+
+    /**
+     * Starts a new game.
+     *
+     * @param solution The complete solution.
+     * @param display The squares the player starts with; zeroes are empty.
+     */
+    public void load(byte[] solution, byte[] display) {
+        System.arraycopy(solution, 0, this.solution, 0, this.solution.length);
+        conflicts.load(display);
+
+        filledCount = 0;
+        mismatchCount = 0;
+
+        for (int cell = 0; cell < display.length; cell++) {
+            if (display[cell] != 0) {
+                filledCount++;
+
+                if (display[cell] != solution[cell]) {
+                    mismatchCount++;
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Writes one square.
+     *
+     * @param cell The cell index, row * size + col.
+     * @param value The digit, or 0 to empty the square.
+     * @return The number of squares whose conflict state changed; read them
+     * with getChangedCell.
+     * @throws IllegalArgumentException If value is not a digit of the board.
+     */
+    public int set(int cell, int value) {
+        int old = conflicts.get(cell);
+        int changed = conflicts.set(cell, value);
+
+        // Take the old value out of the counters, then put the new one in.
+        if (old != 0) {
+            filledCount--;
+
+            if (old != solution[cell]) {
+                mismatchCount--;
+
+            }
+
+        }
+
+        if (value != 0) {
+            filledCount++;
+
+            if (value != solution[cell]) {
+                mismatchCount++;
+
+            }
+
+        }
+
+        return changed;
+
+    }
+
+    /**
+     * Accessor for one of the squares the last set changed the conflict state
+     * of.
+     *
+     * @param i 0 to the count set returned, less one.
+     * @return The cell index.
+     */
+    public int getChangedCell(int i) {
+        return conflicts.getChangedCell(i);
+
+    }
+
+    /**
+     * Accessor for the value of a square.
+     *
+     * @param cell The cell index.
+     * @return The digit, or 0 if the square is empty.
+     */
+    public int get(int cell) {
+        return conflicts.get(cell);
+
+    }
+
+    /**
+     * Reports whether a square shares its digit with another in its row,
+     * column or block.
+     *
+     * @param cell The cell index.
+     * @return True, if the square is in conflict.
+     */
+    public boolean isConflicted(int cell) {
+        return conflicts.isConflicted(cell);
+
+    }
+
+    /**
+     * Accessor for the number of squares in conflict.
+     *
+     * @return The count.
+     */
+    public int getConflictCount() {
+        return conflicts.getConflictCount();
+
+    }
+
+    /**
+     * Accessor for the number of squares holding a digit.
+     *
+     * @return The count, clues included.
+     */
+    public int getFilledCount() {
+        return this.filledCount;
+
+    }
+
+    /**
+     * Accessor for the number of filled squares that disagree with the
+     * solution.
+     *
+     * @return The count.
+     */
+    public int getMismatchCount() {
+        return this.mismatchCount;
+
+    }
+
+    /**
+     * Reports whether every square holds a digit, right or wrong.
+     *
+     * @return True, if the board is full.
+     */
+    public boolean isComplete() {
+        return filledCount == solution.length;
+
+    }
+
+    /**
+     * Works out whether the board can still be finished. Most answers take no
+     * search at all: a board that agrees with the solution so far can
+     * obviously be finished, and one that breaks a rule never can. Only a
+     * board with a wrong digit that clashes with nothing needs a search, as
+     * a puzzle with more than one solution may still be finished another
+     * way; that search is Dancing Links, capped at SOLVABLE_CHECK_NODES.
+     *
+     * @return SOLVABLE, DEAD_END, or UNKNOWN if the search was cut off.
+     */
+    public Solvability checkSolvable() {
+        if (mismatchCount == 0) {
+            return Solvability.SOLVABLE;
+
+        }
+
+        if (conflicts.getConflictCount() > 0) {
+            return Solvability.DEAD_END;
+
+        }
+
+        if (checkSolver == null) {
+            checkSolver = new DancingLinksSolver(getOrder());
+            checkBudget = SearchBudget.ofNodes(SOLVABLE_CHECK_NODES);
+            checkCells = SudokuBoard.create(getOrder());
+
+        }
+
+        conflicts.copyTo(checkCells);
+        checkBudget.reset();
+
+        if (checkSolver.countSolutions(checkCells, 1, checkBudget) == 1) {
+            return Solvability.SOLVABLE;
+
+        }
+
+        return checkBudget.isStopped() ? Solvability.UNKNOWN : Solvability.DEAD_END;
+
+    }
+
+    /**
+     * Reports whether the board is the solution.
+     *
+     * @return True, if the board is full and every square is right.
+     */
+    public boolean isSolved() {
+        return filledCount == solution.length && mismatchCount == 0;
+
+    }
+
+}
@@ -0,0 +1,436 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Read-only access to a bank of stored puzzles.  The bank is one
+ *          file of fixed-size records, mapped into memory when it is opened,
+ *          so fetching a random puzzle is an offset computation and a few
+ *          byte reads rather than a directory listing and a file per puzzle.
+ */
+package sdg;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+/**
+ * A memory-mapped puzzle bank. The file layout is:
+ * <ul>
+ * <li>A HEADER_SIZE-byte header: the MAGIC number, the format VERSION, the
+ * flags, the record count and the record size, all big-endian.</li>
+ * <li>The records, back to back. Each holds the solution packed four bits to
+ * a square (SOLUTION_BYTES), then, if HAS_CLUES is set, a bit for every
+ * square shown to the user (CLUE_BYTES), then, if HAS_DIFFICULTY is set, one
+ * byte of difficulty level.</li>
+ * </ul>
+ * When the bank has difficulty levels, an index from level to record numbers
+ * is built as the bank is opened, so a random puzzle of one level is as quick
+ * to find as any other.
+ * <br><br>
+ * NOTE: Every read uses absolute positions on the mapped buffer, so one bank
+ * can be shared by any number of threads. PuzzleBankWriter creates banks.
+ */
+public class PuzzleBank {
+
+    public static final int MAGIC = 0x53444742; // "SDGB"
+    public static final int VERSION = 1;
+
+    public static final int HAS_CLUES = 1;
+    public static final int HAS_DIFFICULTY = 2;
+
+    public static final int HEADER_SIZE = 16;
+
+    static final int SQUARES = SudokuGenerator.MAX_VALUE * SudokuGenerator.MAX_VALUE;
+    static final int SOLUTION_BYTES = (SQUARES + 1) / 2;
+    static final int CLUE_BYTES = (SQUARES + 7) / 8;
+
+    // The bank the game falls back on, next to the jar.
+    public static final String DEFAULT_FILE = "pregen.sdb";
+
+    private static PuzzleBank defaultBank;
+    private static boolean isDefaultBankOpened;
+
+    private final MappedByteBuffer buffer;
+    private final int flags;
+    private final int count;
+    private final int recordSize;
+
+    // Record numbers grouped by difficulty level, or null if the bank has no
+    // levels.
+    private final int[][] levelIndex;
+
+    /**
+     * Opens and maps a bank file.
+     *
+     * @param file The bank to open.
+     * @throws IOException If the file can't be read or is not a bank.
+     */
+    public PuzzleBank(File file) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+
+        try {
+            // The mapping stays valid once the channel is closed.
+            FileChannel channel = input.getChannel();
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+        } finally {
+            input.close();
+
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a puzzle bank");
+
+        }
+
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException(file + " has unsupported bank version " + buffer.getShort(4));
+
+        }
+
+        flags = buffer.getShort(6);
+        count = buffer.getInt(8);
+        recordSize = buffer.getInt(12);
+
+        if (recordSize < recordSize(flags) || (long) count * recordSize > buffer.capacity() - HEADER_SIZE) {
+            throw new IOException(file + " is truncated or corrupt");
+
+        }
+
+        levelIndex = hasDifficulty() ? buildLevelIndex() : null;
+
+    }
+
+    /**
+     * The bank in DEFAULT_FILE, opened the first time it is asked for and
+     * shared from then on.
+     *
+     * @return The bank, or null if it is missing or unreadable.
+     */
+    public static synchronized PuzzleBank getDefault() {
+        if (!isDefaultBankOpened) {
+            isDefaultBankOpened = true;
+
+            // Flight recorder event; null on a JVM without JFR.
+            BankLoadEvent event = null;
+            if (FlightRecording.IS_AVAILABLE) {
+                event = new BankLoadEvent();
+                event.begin();
+
+            }
+
+            String failure = null;
+
+            try {
+                defaultBank = new PuzzleBank(new File(DEFAULT_FILE));
+
+            } catch (IOException ex) {
+                // No bank; callers make do without.
+                failure = ex.toString();
+
+            }
+
+            if (event != null && event.shouldCommit()) {
+                event.file = new File(DEFAULT_FILE).getAbsolutePath();
+                event.records = (defaultBank != null) ? defaultBank.size() : 0;
+                event.bytes = (defaultBank != null) ? defaultBank.buffer.capacity() : 0;
+                event.outcome = (failure == null) ? "loaded" : "failed";
+                event.message = failure;
+                event.commit();
+
+            }
+
+        }
+
+        return defaultBank;
+
+    }
+
+    /**
+     * The size of a record with the specified flags.
+     *
+     * @param flags HAS_CLUES and/or HAS_DIFFICULTY.
+     * @return The record size in bytes.
+     */
+    static int recordSize(int flags) {
+        int size = SOLUTION_BYTES;
+
+        if ((flags & HAS_CLUES) != 0) {
+            size += CLUE_BYTES;
+
+        }
+
+        if ((flags & HAS_DIFFICULTY) != 0) {
+            size += 1;
+
+        }
+
+        return size;
+
+    }
+
+    /**
+     * Accessor for the number of records.
+     *
+     * @return The record count.
+     */
+    public int size() {
+        return this.count;
+
+    }
+
+    /**
+     * Reports whether records say which squares the user is shown.
+     *
+     * @return True, if the records carry clues.
+     */
+    public boolean hasClues() {
+        return (flags & HAS_CLUES) != 0;
+
+    }
+
+    /**
+     * Reports whether records carry a difficulty level.
+     *
+     * @return True, if the records carry a level.
+     */
+    public boolean hasDifficulty() {
+        return (flags & HAS_DIFFICULTY) != 0;
+
+    }
+
+    /**
+     * Unpacks the solution of a record.
+     *
+     * @param index The record number.
+     * @param board Receives the solution.
+     */
+    public void readSolution(int index, int[][] board) {
+        int offset = offsetOf(index);
+
+        for (int square = 0; square < SQUARES; square++) {
+            board[square / SudokuGenerator.MAX_VALUE][square % SudokuGenerator.MAX_VALUE] = unpack(offset, square);
+
+        }
+
+    }
+
+    /**
+     * Same as readSolution(index, board), for a flat board.
+     *
+     * @param index The record number.
+     * @param cells Receives the solution; SQUARES long.
+     */
+    public void readSolution(int index, byte[] cells) {
+        int offset = offsetOf(index);
+
+        for (int square = 0; square < SQUARES; square++) {
+            cells[square] = (byte) unpack(offset, square);
+
+        }
+
+    }
+
+    /**
+     * Unpacks the user's view of a record: the solution with every square
+     * that is not a clue emptied.
+     *
+     * @param index The record number.
+     * @param board Receives the view.
+     * @throws IllegalStateException If the bank has no clues.
+     */
+    public void readDisplay(int index, int[][] board) {
+        if (!hasClues()) {
+            throw new IllegalStateException("This bank holds solutions only");
+
+        }
+
+        readSolution(index, board);
+
+        int offset = offsetOf(index) + SOLUTION_BYTES;
+
+        for (int square = 0; square < SQUARES; square++) {
+            if (!isClue(offset, square)) {
+                board[square / SudokuGenerator.MAX_VALUE][square % SudokuGenerator.MAX_VALUE] = 0;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Same as readDisplay(index, board), for a flat board.
+     *
+     * @param index The record number.
+     * @param cells Receives the view; SQUARES long.
+     * @throws IllegalStateException If the bank has no clues.
+     */
+    public void readDisplay(int index, byte[] cells) {
+        if (!hasClues()) {
+            throw new IllegalStateException("This bank holds solutions only");
+
+        }
+
+        readSolution(index, cells);
+
+        int offset = offsetOf(index) + SOLUTION_BYTES;
+
+        for (int square = 0; square < SQUARES; square++) {
+            if (!isClue(offset, square)) {
+                cells[square] = 0;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Reads one value out of the packed solution of a record, two squares to
+     * a byte with the first in the high nibble.
+     *
+     * @param offset The start of the record.
+     * @param square The square wanted.
+     * @return Its value.
+     */
+    private int unpack(int offset, int square) {
+        int packed = buffer.get(offset + square / 2);
+
+        return ((square & 1) == 0) ? (packed >> 4) & 0xF : packed & 0xF;
+
+    }
+
+    /**
+     * Reads one bit of the clue bitmap of a record.
+     *
+     * @param offset The start of the clue bitmap.
+     * @param square The square wanted.
+     * @return True, if the square is shown to the user.
+     */
+    private boolean isClue(int offset, int square) {
+        return (buffer.get(offset + square / 8) & (1 << (square % 8))) != 0;
+
+    }
+
+    /**
+     * Accessor for the difficulty level of a record.
+     *
+     * @param index The record number.
+     * @return The level, or 0 if the bank has no levels.
+     */
+    public int getDifficulty(int index) {
+        if (!hasDifficulty()) {
+            return 0;
+
+        }
+
+        return buffer.get(offsetOf(index) + recordSize(flags) - 1) & 0xFF;
+
+    }
+
+    /**
+     * Picks a record at random.
+     *
+     * @param random The random source.
+     * @return The record number, or -1 if the bank is empty.
+     */
+    public int randomIndex(Random random) {
+        return (count == 0) ? -1 : random.nextInt(count);
+
+    }
+
+    /**
+     * Picks a record of one difficulty level at random.
+     *
+     * @param random The random source.
+     * @param level The difficulty level.
+     * @return The record number, or -1 if no record has that level (or the
+     * bank has no levels).
+     */
+    public int randomIndex(Random random, int level) {
+        if (levelIndex == null || level < 0 || level >= levelIndex.length || levelIndex[level].length == 0) {
+            return -1;
+
+        }
+
+        return levelIndex[level][random.nextInt(levelIndex[level].length)];
+
+    }
+
+    /**
+     * Counts the records of one difficulty level.
+     *
+     * @param level The difficulty level.
+     * @return The number of records with that level.
+     */
+    public int count(int level) {
+        if (levelIndex == null || level < 0 || level >= levelIndex.length) {
+            return 0;
+
+        }
+
+        return levelIndex[level].length;
+
+    }
+
+    /**
+     * The position of a record in the file.
+     *
+     * @param index The record number.
+     * @return The byte offset of the record.
+     */
+    private int offsetOf(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + count);
+
+        }
+
+        return HEADER_SIZE + index * recordSize;
+
+    }
+
+    /**
+     * Groups the record numbers by level: one pass to count, one to fill.
+     *
+     * @return The index, one array per level from 0 to the highest found.
+     */
+    private int[][] buildLevelIndex() {
+        int[] sizes = new int[256];
+
+        for (int i = 0; i < count; i++) {
+            sizes[getDifficulty(i)]++;
+
+        }
+
+        int levels = 0;
+        for (int level = 0; level < sizes.length; level++) {
+            if (sizes[level] > 0) {
+                levels = level + 1;
+
+            }
+
+        }
+
+        int[][] index = new int[levels][];
+        for (int level = 0; level < levels; level++) {
+            index[level] = new int[sizes[level]];
+            sizes[level] = 0;
+
+        }
+
+        for (int i = 0; i < count; i++) {
+            int level = getDifficulty(i);
+            index[level][sizes[level]++] = i;
+
+        }
+
+        return index;
+
+    }
+
+}
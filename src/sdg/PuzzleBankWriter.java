@@ -0,0 +1,141 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Writes puzzle banks for PuzzleBank to read.  Records are packed
+ *          and streamed straight to disk through a buffer, so a bank of
+ *          millions of puzzles never has to fit in memory.
+ */
+package sdg;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Streaming bank builder. The header is written with a record count of zero
+ * up front and patched in by close, so the count need not be known in
+ * advance.
+ */
+public class PuzzleBankWriter implements Closeable {
+
+    private final File file;
+    private final int flags;
+    private final DataOutputStream output;
+    private final byte[] record;
+    private int count;
+
+    /**
+     * Creates (or replaces) a bank file.
+     *
+     * @param file The bank to write.
+     * @param hasClues True, if every record will carry the user's view.
+     * @param hasDifficulty True, if every record will carry a difficulty
+     * level.
+     * @throws IOException If the file can't be created.
+     */
+    public PuzzleBankWriter(File file, boolean hasClues, boolean hasDifficulty) throws IOException {
+        this.file = file;
+        this.flags = (hasClues ? PuzzleBank.HAS_CLUES : 0) | (hasDifficulty ? PuzzleBank.HAS_DIFFICULTY : 0);
+        this.record = new byte[PuzzleBank.recordSize(flags)];
+        this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+
+        output.writeInt(PuzzleBank.MAGIC);
+        output.writeShort(PuzzleBank.VERSION);
+        output.writeShort(flags);
+        output.writeInt(0);
+        output.writeInt(record.length);
+
+    }
+
+    /**
+     * Accessor for the number of records written so far.
+     *
+     * @return The record count.
+     */
+    public int getCount() {
+        return this.count;
+
+    }
+
+    /**
+     * Appends a record holding only a solution.
+     *
+     * @param solution The solution; every value must be from 0 to 15.
+     * @throws IOException If the write fails.
+     * @throws IllegalStateException If the bank was created with clues or
+     * levels.
+     */
+    public void add(int[][] solution) throws IOException {
+        if (flags != 0) {
+            throw new IllegalStateException("This bank needs clues and/or a level for every record");
+
+        }
+
+        add(solution, null, 0);
+
+    }
+
+    /**
+     * Appends a record. Whatever the bank was not created with (clues or a
+     * level) is ignored.
+     *
+     * @param solution The solution; every value must be from 0 to 15.
+     * @param display The user's view; a square is a clue if it is not zero.
+     * @param difficulty The difficulty level, from 0 to 255.
+     * @throws IOException If the write fails.
+     */
+    public void add(int[][] solution, int[][] display, int difficulty) throws IOException {
+        Arrays.fill(record, (byte) 0);
+
+        for (int square = 0; square < PuzzleBank.SQUARES; square++) {
+            int row = square / SudokuGenerator.MAX_VALUE;
+            int col = square % SudokuGenerator.MAX_VALUE;
+
+            // Two squares to a byte, the first in the high half.
+            record[square / 2] |= ((square & 1) == 0) ? solution[row][col] << 4 : solution[row][col];
+
+            if ((flags & PuzzleBank.HAS_CLUES) != 0 && display[row][col] != 0) {
+                record[PuzzleBank.SOLUTION_BYTES + square / 8] |= 1 << (square % 8);
+
+            }
+
+        }
+
+        if ((flags & PuzzleBank.HAS_DIFFICULTY) != 0) {
+            record[record.length - 1] = (byte) difficulty;
+
+        }
+
+        output.write(record);
+        count++;
+
+    }
+
+    /**
+     * Flushes the records and writes the final count into the header.
+     *
+     * @throws IOException If the write fails.
+     */
+    @Override
+    public void close() throws IOException {
+        output.close();
+
+        RandomAccessFile header = new RandomAccessFile(file, "rw");
+
+        try {
+            header.seek(8);
+            header.writeInt(count);
+
+        } finally {
+            header.close();
+
+        }
+
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Turns a complete solution into a puzzle by "digging" clues out of
+ *          it.  Squares are visited in random order, and a clue is only taken
+ *          away if the puzzle still has exactly one solution without it.
+ */
+package sdg;
+
+import java.util.Random;
+
+/**
+ * Clue-removal puzzle builder. Since the puzzle is unique before a removal,
+ * it stays unique exactly when no solution puts a different value in the
+ * emptied square. Two checks answer that, cheapest first:
+ * <ul>
+ * <li>The constraint masks are kept in step with the puzzle as clues go. If
+ * the emptied square has no other candidate, the removal is safe without any
+ * search. This settles most of the early removals.</li>
+ * <li>Otherwise DancingLinksSolver.hasSolutionExcluding looks for one
+ * solution with a different value there, instead of counting two.</li>
+ * </ul>
+ * Both reuse their state between calls, so digging allocates nothing once the
+ * digger exists.
+ * <br><br>
+ * NOTE: Solutions of any supported order can be dug; the digger sizes itself
+ * to the board it is handed. Near the end of a dig on a 16x16 or 25x25 board,
+ * a single check can take seconds, so setCheckNodeLimit can cap them. A
+ * check that runs out of nodes keeps its clue: the puzzle stays unique, it
+ * just shows a few more clues than it might have. A dig can also be handed
+ * the caller's budget, so that cancelling it stops the dig as well.
+ */
+public class PuzzleDigger {
+
+    private final DancingLinksSolver solver;
+    private final SearchBudget budget;
+    private final Random random;
+
+    // The most search nodes one uniqueness check may visit.
+    private long checkNodeLimit;
+
+    // Sized for the order of the last solution dug.
+    private SudokuConstraints constraints;
+
+    // Scratch list of every board index, shuffled for each dig.
+    private int[] digOrder;
+
+    // The flat boards the int[][] form of dig copies through.
+    private byte[] solutionScratch;
+    private byte[] puzzleScratch;
+
+    /**
+     * Creates a digger with an unpredictable random sequence.
+     */
+    public PuzzleDigger() {
+        this(new Random());
+
+    }
+
+    /**
+     * Creates a digger that draws its removal order from random. Passing a
+     * seeded Random makes the puzzles reproducible.
+     *
+     * @param random The source of the removal order.
+     */
+    public PuzzleDigger(Random random) {
+        this.solver = new DancingLinksSolver();
+        this.budget = SearchBudget.unlimited();
+        this.constraints = new SudokuConstraints();
+        this.random = random;
+        this.checkNodeLimit = Long.MAX_VALUE;
+        this.digOrder = new int[SudokuGenerator.MAX_VALUE * SudokuGenerator.MAX_VALUE];
+        this.solutionScratch = new byte[digOrder.length];
+        this.puzzleScratch = new byte[digOrder.length];
+
+    }
+
+    /**
+     * Accessor for the node limit of a uniqueness check.
+     *
+     * @return The limit, or Long.MAX_VALUE for none.
+     */
+    public long getCheckNodeLimit() {
+        return this.checkNodeLimit;
+
+    }
+
+    /**
+     * Caps the search nodes a single uniqueness check may visit. A clue whose
+     * check runs out is kept, as if it were needed. The default is no limit,
+     * which digs as far as uniqueness allows.
+     *
+     * @param checkNodeLimit The limit, or Long.MAX_VALUE for none.
+     */
+    public void setCheckNodeLimit(long checkNodeLimit) {
+        this.checkNodeLimit = checkNodeLimit;
+
+    }
+
+    /**
+     * Builds a puzzle from a complete solution. Clues are removed in random
+     * order until only targetClues remain. If isMinimal is set, digging
+     * carries on past the target until no remaining clue can be removed; a
+     * single pass is enough for that, because a clue that could not be removed
+     * earlier can never become removable once more clues are gone.
+     * <br><br>
+     * NOTE: Most solutions cannot be dug down to 17 clues, so the result may
+     * keep more clues than targetClues. It is minimal in that case, whatever
+     * isMinimal says.
+     *
+     * @param solution A complete, valid solution of any supported order. It
+     * is not modified.
+     * @param puzzle Receives the puzzle; may be reused between calls.
+     * @param targetClues The number of clues to stop at.
+     * @param isMinimal True to keep digging until the puzzle is minimal.
+     * @return The number of clues left in the puzzle.
+     */
+    public int dig(int[][] solution, int[][] puzzle, int targetClues, boolean isMinimal) {
+        int squares = solution.length * solution.length;
+
+        if (solutionScratch.length != squares) {
+            solutionScratch = new byte[squares];
+            puzzleScratch = new byte[squares];
+
+        }
+
+        SudokuBoard.copy(solution, solutionScratch);
+        int clues = dig(solutionScratch, puzzleScratch, targetClues, isMinimal);
+        SudokuBoard.copy(puzzleScratch, puzzle);
+
+        return clues;
+
+    }
+
+    /**
+     * Same as dig(solution, puzzle, targetClues, isMinimal), for flat boards.
+     *
+     * @param solution A complete, valid solution. It is not modified.
+     * @param puzzle Receives the puzzle; the same length as solution.
+     * @param targetClues The number of clues to stop at.
+     * @param isMinimal True to keep digging until the puzzle is minimal.
+     * @return The number of clues left in the puzzle.
+     */
+    public int dig(byte[] solution, byte[] puzzle, int targetClues, boolean isMinimal) {
+        return dig(solution, puzzle, targetClues, isMinimal, budget);
+
+    }
+
+    /**
+     * Same as dig(solution, puzzle, targetClues, isMinimal), but gives up as
+     * soon as the caller's budget is cancelled. The puzzle is then left part
+     * dug: still unique, but with more clues than asked for.
+     * <br><br>
+     * NOTE: Only cancellation is taken from the caller's budget. Its deadline
+     * and node limit are not, and the checks stay on the digger's own budget
+     * and node cap, so a dig after a timed-out search still digs.
+     *
+     * @param solution A complete, valid solution. It is not modified.
+     * @param puzzle Receives the puzzle; the same length as solution.
+     * @param targetClues The number of clues to stop at.
+     * @param isMinimal True to keep digging until the puzzle is minimal.
+     * @param cancellation Looked at before every check.
+     * @return The number of clues left in the puzzle.
+     */
+    public int dig(byte[] solution, byte[] puzzle, int targetClues, boolean isMinimal, SearchBudget cancellation) {
+        int squares = solution.length;
+        int clues = squares;
+
+        if (squares != digOrder.length) {
+            constraints = new SudokuConstraints(SudokuBoard.orderOf(solution));
+            digOrder = new int[squares];
+
+        }
+
+        System.arraycopy(solution, 0, puzzle, 0, squares);
+
+        for (int i = 0; i < squares; i++) {
+            digOrder[i] = i;
+
+        }
+
+        constraints.load(puzzle);
+
+        for (int i = 0; i < squares; i++) {
+            // Reached the target, and nobody asked for more; or nobody wants
+            // the puzzle any more.
+            if ((clues <= targetClues && !isMinimal) || cancellation.isCancelled()) {
+                break;
+
+            }
+
+            // Pick a random square from the ones not yet visited.
+            int pick = i + random.nextInt(squares - i);
+            int square = digOrder[pick];
+            digOrder[pick] = digOrder[i];
+            digOrder[i] = square;
+
+            int val = puzzle[square];
+
+            // Try the puzzle without this clue.  If another value could go
+            // here, the clue is needed, so put it back.
+            puzzle[square] = 0;
+            constraints.unplace(square, val);
+            budget.startSlice(checkNodeLimit);
+
+            if (constraints.candidates(square) != (1 << val)
+                    && solver.hasSolutionExcluding(puzzle, square, val, budget)) {
+                puzzle[square] = (byte) val;
+                constraints.place(square, val);
+
+            } else {
+                clues--;
+
+            }
+
+        }
+
+        return clues;
+
+    }
+
+}
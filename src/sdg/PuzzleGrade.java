@@ -0,0 +1,90 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: The verdict LogicalGrader reaches on a puzzle: whether a person
+ *          could solve it with the techniques it knows, the hardest one that
+ *          was needed, and an overall score.
+ */
+package sdg;
+
+import sdg.LogicalGrader.Technique;
+
+/**
+ * An immutable grading result.
+ */
+public class PuzzleGrade {
+
+    private final boolean isSolved;
+    private final Technique hardest;
+    private final int score;
+    private final int[] techniqueCounts;
+
+    /**
+     * Creates a result.
+     *
+     * @param isSolved True, if logic alone completed the puzzle.
+     * @param hardest The hardest technique used, or null if none was needed.
+     * @param score The sum of the weights of every step taken.
+     * @param techniqueCounts How often each technique was used, indexed by
+     * ordinal; copied.
+     */
+    public PuzzleGrade(boolean isSolved, Technique hardest, int score, int[] techniqueCounts) {
+        this.isSolved = isSolved;
+        this.hardest = hardest;
+        this.score = score;
+        this.techniqueCounts = techniqueCounts.clone();
+
+    }
+
+    /**
+     * Reports whether the techniques tried were enough to finish the puzzle.
+     * If not, the puzzle either needs something harder (such as guessing) or
+     * has no unique solution.
+     *
+     * @return True, if the puzzle was solved by logic.
+     */
+    public boolean isSolved() {
+        return this.isSolved;
+
+    }
+
+    /**
+     * Accessor for the hardest technique the grader had to use.
+     *
+     * @return The technique, or null if the board was already full.
+     */
+    public Technique getHardest() {
+        return this.hardest;
+
+    }
+
+    /**
+     * Accessor for the score: every step adds its technique's weight, so
+     * long chains of easy steps count for something, but one hard step
+     * counts for more.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return this.score;
+
+    }
+
+    /**
+     * Accessor for how often a technique was used.
+     *
+     * @param technique The technique.
+     * @return The number of steps that used it.
+     */
+    public int getCount(Technique technique) {
+        return techniqueCounts[technique.ordinal()];
+
+    }
+
+    @Override
+    public String toString() {
+        return (isSolved ? "solved" : "stuck") + ", hardest " + hardest + ", score " + score;
+
+    }
+
+}
@@ -0,0 +1,393 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Keeps a few puzzles of every difficulty ready ahead of time.  A
+ *          small pool of background threads generates puzzles into one
+ *          queue per difficulty, so starting a new game only has to take
+ *          the next puzzle off a queue.
+ */
+package sdg;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import sui.SudokuOptions.Difficulty;
+
+/**
+ * Background pre-generation with a bounded, lock-free queue per difficulty.
+ * A queue is topped back up to its capacity whenever taking a puzzle leaves
+ * it at or below the low-water mark. Up to threads producers work on one
+ * queue at once, and a slot is reserved before a puzzle is generated, so a
+ * queue never holds more than capacity puzzles.
+ * <br><br>
+ * NOTE: Every method may be called from any thread. The producers are daemon
+ * threads at minimum priority, so they never keep the application alive or
+ * starve the UI; shutdown stops them at once, cancelling any puzzle they are
+ * in the middle of.
+ */
+public class PuzzlePool {
+
+    // The number of squares each producer seeds before solving.
+    private static final int SEED = 16;
+
+    // How long a producer may spend on one puzzle, the same as a generator
+    // allows itself.
+    private static final long PUZZLE_TIMEOUT_MILLIS = 5000;
+
+    private final int capacity;
+    private final int threads;
+    private final int lowWater;
+
+    private final ExecutorService producers;
+    private final Map<Difficulty, Tier> tiers;
+
+    // Each producer thread keeps its own generator, since a generator may
+    // only be used by one thread at a time.
+    private final ThreadLocal<SudokuGenerator> generators;
+
+    // The budgets of the puzzles being made right now, for shutdown to
+    // cancel.
+    private final Set<SearchBudget> activeBudgets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The queue of one difficulty and the counters that keep it bounded.
+     */
+    private static class Tier {
+
+        final ConcurrentLinkedQueue<SudokuPuzzle> queue = new ConcurrentLinkedQueue<SudokuPuzzle>();
+
+        // Puzzles in the queue, and puzzles in the queue or being made.
+        final AtomicInteger ready = new AtomicInteger();
+        final AtomicInteger reserved = new AtomicInteger();
+
+        // Producers working on this queue.
+        final AtomicInteger activeProducers = new AtomicInteger();
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder generated = new LongAdder();
+        final LongAdder candidates = new LongAdder();
+
+    }
+
+    /**
+     * Creates the pool and starts filling every queue.
+     *
+     * @param capacity The most puzzles each queue holds.
+     * @param threads The number of producer threads.
+     * @param lowWater The queue depth at or below which refilling starts;
+     * less than capacity.
+     * @throws IllegalArgumentException If the sizes don't make sense.
+     */
+    public PuzzlePool(int capacity, int threads, int lowWater) {
+        if (capacity < 1 || threads < 1 || lowWater < 0 || lowWater >= capacity) {
+            throw new IllegalArgumentException("Need capacity >= 1, threads >= 1 and 0 <= lowWater < capacity");
+
+        }
+
+        this.capacity = capacity;
+        this.threads = threads;
+        this.lowWater = lowWater;
+
+        this.tiers = new EnumMap<Difficulty, Tier>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            tiers.put(difficulty, new Tier());
+
+        }
+
+        this.generators = new ThreadLocal<SudokuGenerator>() {
+            @Override
+            protected SudokuGenerator initialValue() {
+                SudokuGenerator generator = new SudokuGenerator(SEED, 0);
+                generator.setSolver(new DancingLinksSolver());
+
+                return generator;
+
+            }
+        };
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.producers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "puzzle-pool-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+
+                return thread;
+
+            }
+        });
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            refill(difficulty);
+
+        }
+
+    }
+
+    /**
+     * Takes a ready puzzle off the queue for a difficulty, and starts topping
+     * the queue back up if that leaves it low.
+     *
+     * @param difficulty The difficulty wanted.
+     * @return The puzzle, or null if none is ready yet; the caller should
+     * generate one itself in that case.
+     */
+    public SudokuPuzzle poll(Difficulty difficulty) {
+        Tier tier = tiers.get(difficulty);
+        SudokuPuzzle puzzle = tier.queue.poll();
+
+        if (puzzle != null) {
+            tier.ready.decrementAndGet();
+            tier.reserved.decrementAndGet();
+            tier.hits.increment();
+
+        } else {
+            tier.misses.increment();
+
+        }
+
+        if (tier.ready.get() <= lowWater) {
+            refill(difficulty);
+
+        }
+
+        return puzzle;
+
+    }
+
+    /**
+     * Accessor for the number of puzzles ready for a difficulty.
+     *
+     * @param difficulty The difficulty.
+     * @return The queue depth.
+     */
+    public int getDepth(Difficulty difficulty) {
+        return tiers.get(difficulty).ready.get();
+
+    }
+
+    /**
+     * Accessor for the number of polls that found a puzzle ready.
+     *
+     * @param difficulty The difficulty.
+     * @return The hit count.
+     */
+    public long getHitCount(Difficulty difficulty) {
+        return tiers.get(difficulty).hits.sum();
+
+    }
+
+    /**
+     * Accessor for the number of polls that found the queue empty.
+     *
+     * @param difficulty The difficulty.
+     * @return The miss count.
+     */
+    public long getMissCount(Difficulty difficulty) {
+        return tiers.get(difficulty).misses.sum();
+
+    }
+
+    /**
+     * Accessor for the number of puzzles the producers have made.
+     *
+     * @param difficulty The difficulty.
+     * @return The generated count.
+     */
+    public long getGeneratedCount(Difficulty difficulty) {
+        return tiers.get(difficulty).generated.sum();
+
+    }
+
+    /**
+     * Accessor for the number of puzzles the producers made and graded to
+     * get the ones they kept; the rest fell outside the difficulty's band.
+     *
+     * @param difficulty The difficulty.
+     * @return The candidate count.
+     */
+    public long getCandidateCount(Difficulty difficulty) {
+        return tiers.get(difficulty).candidates.sum();
+
+    }
+
+    /**
+     * Accessor for the most puzzles each queue holds.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+
+    }
+
+    /**
+     * Accessor for the queue depth at which refilling starts.
+     *
+     * @return The low-water mark.
+     */
+    public int getLowWater() {
+        return this.lowWater;
+
+    }
+
+    /**
+     * Stops the producers. Puzzles already queued can still be polled.
+     */
+    public void shutdown() {
+        producers.shutdownNow();
+
+        // Interrupting doesn't reach into a search, so cancel those too.
+        for (SearchBudget budget : activeBudgets) {
+            budget.cancel();
+
+        }
+
+    }
+
+    /**
+     * One line per difficulty: depth, hits, misses, puzzles generated and the
+     * share of candidates that were in the band.
+     *
+     * @return The statistics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder stats = new StringBuilder();
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            stats.append(difficulty).append(": depth ").append(getDepth(difficulty))
+                    .append('/').append(capacity)
+                    .append(", hits ").append(getHitCount(difficulty))
+                    .append(", misses ").append(getMissCount(difficulty))
+                    .append(", generated ").append(getGeneratedCount(difficulty))
+                    .append(", accepted ").append(getGeneratedCount(difficulty))
+                    .append('/').append(getCandidateCount(difficulty))
+                    .append(System.lineSeparator());
+
+        }
+
+        return stats.toString();
+
+    }
+
+    /**
+     * Starts producers for a difficulty until threads of them are at work or
+     * every slot of its queue is spoken for.
+     *
+     * @param difficulty The difficulty to top up.
+     */
+    private void refill(final Difficulty difficulty) {
+        Tier tier = tiers.get(difficulty);
+
+        while (tier.reserved.get() < capacity && !producers.isShutdown()) {
+            int active = tier.activeProducers.get();
+
+            if (active >= threads) {
+                return;
+
+            }
+
+            if (tier.activeProducers.compareAndSet(active, active + 1)) {
+                try {
+                    producers.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            produce(difficulty);
+
+                        }
+                    });
+
+                } catch (RejectedExecutionException ex) {
+                    // Shut down in the meantime.
+                    tier.activeProducers.decrementAndGet();
+                    return;
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * The body of a producer: generates puzzles for a difficulty until its
+     * queue is full.
+     *
+     * @param difficulty The difficulty to generate.
+     */
+    private void produce(Difficulty difficulty) {
+        Tier tier = tiers.get(difficulty);
+        SudokuGenerator generator = generators.get();
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Reserve a slot first, so producers together never overfill.
+                if (tier.reserved.incrementAndGet() > capacity) {
+                    tier.reserved.decrementAndGet();
+                    break;
+
+                }
+
+                // A budget per puzzle, registered before the shutdown check
+                // so that a shutdown either sees it or is seen here.
+                SearchBudget budget = SearchBudget.ofMillis(PUZZLE_TIMEOUT_MILLIS);
+                activeBudgets.add(budget);
+                boolean isQueued = false;
+
+                try {
+                    if (!producers.isShutdown() && generator.execute(SEED, difficulty, budget)) {
+                        tier.candidates.add(generator.getCandidateCount());
+                        tier.queue.offer(generator.getPuzzle());
+                        tier.ready.incrementAndGet();
+                        tier.generated.increment();
+                        isQueued = true;
+
+                    }
+
+                } finally {
+                    activeBudgets.remove(budget);
+
+                    // Cancelled or failed; give the slot back, or refill
+                    // would count it as taken for good.
+                    if (!isQueued) {
+                        tier.reserved.decrementAndGet();
+
+                    }
+
+                }
+
+                if (!isQueued) {
+                    break;
+
+                }
+
+            }
+
+        } finally {
+            tier.activeProducers.decrementAndGet();
+
+        }
+
+        // A poll may have come in after the queue looked full, while this
+        // producer was still counted as active; don't leave it low.
+        if (tier.ready.get() <= lowWater) {
+            refill(difficulty);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Decides how many search nodes each generation attempt gets before
+ *          the generator gives up on its seeding and starts over.  A seeding
+ *          that cannot be completed is usually found out quickly, but now and
+ *          then one takes seconds to prove; restarting on a small budget cuts
+ *          that tail off.
+ */
+package sdg;
+
+/**
+ * The node limit of every restart. Two schedules are offered besides NONE:
+ * <ul>
+ * <li>LUBY runs the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ... times a
+ * unit. Without knowing anything about the run-time distribution, it is never
+ * more than a logarithmic factor slower than the best fixed limit.</li>
+ * <li>GEOMETRIC starts at a unit and grows by a constant factor, so a board
+ * that really needs a long search still gets one after a few restarts.</li>
+ * </ul>
+ */
+public class RestartSchedule {
+
+    /**
+     * The shape of the schedule.
+     */
+    public enum Kind {
+        // A single attempt with no node limit; the original behavior.
+        NONE,
+        LUBY,
+        GEOMETRIC
+
+    }
+
+    private final Kind kind;
+    private final long unit;
+    private final double factor;
+
+    /**
+     * Creates a schedule.
+     *
+     * @param kind The shape of the schedule.
+     * @param unit The node limit of the first restart.
+     * @param factor The growth per restart; only GEOMETRIC uses it.
+     */
+    public RestartSchedule(Kind kind, long unit, double factor) {
+        this.kind = kind;
+        this.unit = unit;
+        this.factor = factor;
+
+    }
+
+    /**
+     * A schedule that never restarts.
+     *
+     * @return The new schedule.
+     */
+    public static RestartSchedule none() {
+        return new RestartSchedule(Kind.NONE, Long.MAX_VALUE, 1);
+
+    }
+
+    /**
+     * A Luby schedule.
+     *
+     * @param unit The node limit the sequence is multiplied by.
+     * @return The new schedule.
+     */
+    public static RestartSchedule luby(long unit) {
+        return new RestartSchedule(Kind.LUBY, unit, 1);
+
+    }
+
+    /**
+     * A geometric schedule.
+     *
+     * @param unit The node limit of the first attempt.
+     * @param factor The growth per restart, greater than 1.
+     * @return The new schedule.
+     */
+    public static RestartSchedule geometric(long unit, double factor) {
+        return new RestartSchedule(Kind.GEOMETRIC, unit, factor);
+
+    }
+
+    /**
+     * Accessor for the shape of the schedule.
+     *
+     * @return The kind.
+     */
+    public Kind getKind() {
+        return this.kind;
+
+    }
+
+    /**
+     * The node limit of an attempt.
+     *
+     * @param attempt The number of attempts made before this one.
+     * @return The number of nodes the attempt may visit, or Long.MAX_VALUE
+     * for no limit.
+     */
+    public long nodeLimit(int attempt) {
+        switch (kind) {
+            case LUBY:
+                return unit * luby(attempt);
+
+            case GEOMETRIC:
+                return (long) Math.min(unit * Math.pow(factor, attempt), (double) Long.MAX_VALUE);
+
+            default:
+                return Long.MAX_VALUE;
+
+        }
+
+    }
+
+    /**
+     * The i-th term of the Luby sequence, counting from zero: 1, 1, 2, 1, 1,
+     * 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ...
+     *
+     * @param i The index of the term.
+     * @return The term.
+     */
+    public static long luby(int i) {
+        // Find the smallest complete subsequence (of length 2^k - 1) that
+        // contains index i.
+        int size = 1;
+        int exponent = 0;
+
+        while (size < i + 1) {
+            exponent++;
+            size = 2 * size + 1;
+
+        }
+
+        // Descend into the half that holds i until i is the last term of
+        // its subsequence, which is 2^exponent.
+        while (size - 1 != i) {
+            size = (size - 1) >> 1;
+            exponent--;
+            i = i % size;
+
+        }
+
+        return 1L << exponent;
+
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Console tool that builds puzzle banks: either by converting the
+ *          old pregen/*.ssf files, or by generating as many new puzzles as
+ *          wanted.
+ */
+package sdg;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Run from the command line:
+ * <br><br>
+ * java -cp SudokuGame.jar sdg.SDBankBuilder convert [pregenDir] [bankFile]
+ * <br>
+ * java -cp SudokuGame.jar sdg.SDBankBuilder generate [count] [hints] [bankFile]
+ * <br><br>
+ * convert packs every valid .ssf solution into a solutions-only bank
+ * (defaults: pregen and pregen.sdb). generate writes count unique puzzles,
+ * dug down towards hints clues, with their views (defaults: 1000000, 17 and
+ * puzzles.sdb). Puzzles are made in chunks on every core and streamed to the
+ * file, so memory use doesn't grow with count.
+ */
+public class SDBankBuilder {
+
+    // Puzzles generated per BatchGenerator call.
+    private static final int CHUNK_SIZE = 4096;
+
+    public static void main(String[] args) throws IOException {
+        String mode = (args.length > 0) ? args[0] : "convert";
+
+        if (mode.equals("generate")) {
+            int count = (args.length > 1) ? Integer.parseInt(args[1]) : 1000000;
+            int hints = (args.length > 2) ? Integer.parseInt(args[2]) : 17;
+            File bank = new File((args.length > 3) ? args[3] : "puzzles.sdb");
+
+            generate(count, hints, bank);
+
+        } else {
+            File folder = new File((args.length > 1) ? args[1] : "pregen");
+            File bank = new File((args.length > 2) ? args[2] : PuzzleBank.DEFAULT_FILE);
+
+            convert(folder, bank);
+
+        }
+
+    }
+
+    /**
+     * Packs the .ssf files 0.ssf, 1.ssf, ... of a folder into a bank, in
+     * order, skipping any that don't hold a complete, valid solution.
+     *
+     * @param folder The folder of .ssf files.
+     * @param bank The bank to write.
+     * @throws IOException If a file can't be read or the bank written.
+     */
+    public static void convert(File folder, File bank) throws IOException {
+        int[][] solution = new int[SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+        PuzzleBankWriter writer = new PuzzleBankWriter(bank, false, false);
+
+        try {
+            for (int file = 0; new File(folder, file + ".ssf").exists(); file++) {
+                DataInputStream read = new DataInputStream(new FileInputStream(new File(folder, file + ".ssf")));
+
+                try {
+                    for (int row = 0; row < SudokuGenerator.MAX_VALUE; row++) {
+                        for (int col = 0; col < SudokuGenerator.MAX_VALUE; col++) {
+                            solution[row][col] = read.readInt();
+
+                        }
+
+                    }
+
+                } finally {
+                    read.close();
+
+                }
+
+                if (isCompleteSolution(solution)) {
+                    writer.add(solution);
+
+                } else {
+                    System.out.println("Skipping " + file + ".ssf: not a complete, valid solution");
+
+                }
+
+            }
+
+        } finally {
+            writer.close();
+
+        }
+
+        System.out.println("Wrote " + writer.getCount() + " solutions to " + bank);
+
+    }
+
+    /**
+     * Generates unique puzzles and writes them, with their views, to a bank.
+     *
+     * @param count The number of puzzles to write.
+     * @param hints The clue count the digger aims for.
+     * @param bank The bank to write.
+     * @throws IOException If the bank can't be written.
+     */
+    public static void generate(int count, int hints, File bank) throws IOException {
+        PuzzleBankWriter writer = new PuzzleBankWriter(bank, true, false);
+        long start = System.currentTimeMillis();
+
+        try {
+            while (writer.getCount() < count) {
+                List<SudokuPuzzle> chunk = BatchGenerator.generate(Math.min(CHUNK_SIZE, count - writer.getCount()), 16, hints);
+
+                for (SudokuPuzzle puzzle : chunk) {
+                    writer.add(puzzle.getSolution(), puzzle.getDisplay(), 0);
+
+                }
+
+                System.out.println(writer.getCount() + " of " + count);
+
+            }
+
+        } finally {
+            writer.close();
+
+        }
+
+        System.out.println("Wrote " + writer.getCount() + " puzzles to " + bank + " in "
+                + (System.currentTimeMillis() - start) / 1000 + " s");
+
+    }
+
+    /**
+     * Checks that a board is full and breaks no rule.
+     *
+     * @param board The board to check.
+     * @return True, if board is a valid solution.
+     */
+    private static boolean isCompleteSolution(int[][] board) {
+        SudokuConstraints constraints = new SudokuConstraints();
+
+        for (int row = 0; row < SudokuGenerator.MAX_VALUE; row++) {
+            for (int col = 0; col < SudokuGenerator.MAX_VALUE; col++) {
+                int val = board[row][col];
+
+                if (val < 1 || val > SudokuGenerator.MAX_VALUE || !constraints.isSafe(row, col, val)) {
+                    return false;
+
+                }
+
+                constraints.place(row, col, val);
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+}
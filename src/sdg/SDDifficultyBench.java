@@ -0,0 +1,86 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Console benchmark for difficulty-targeted generation.  For every
+ *          difficulty, reports how many candidates rejection sampling had to
+ *          throw away and how long a puzzle took to come out.
+ */
+package sdg;
+
+import java.util.Arrays;
+
+import sui.SudokuOptions.Difficulty;
+
+/**
+ * Run from the command line:
+ * <br><br>
+ * java -cp SudokuGame.jar sdg.SDDifficultyBench [puzzles] [seed]
+ * <br><br>
+ * Defaults are 200 puzzles per difficulty, seeded with 16 squares, on the
+ * Dancing Links solver (as the puzzle pool uses). Latency is per returned
+ * puzzle, so it includes every rejected candidate before it. The generation
+ * metrics of the timed runs are printed last, to show where the time went.
+ */
+public class SDDifficultyBench {
+
+    public static void main(String[] args) {
+        int puzzles = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        int seed = (args.length > 1) ? Integer.parseInt(args[1]) : 16;
+
+        SudokuGenerator generator = new SudokuGenerator(seed, 0);
+        generator.setSolver(new DancingLinksSolver());
+
+        // Warm up, so the first tier doesn't pay for the JIT.
+        for (int i = 0; i < 50; i++) {
+            generator.execute(seed, Difficulty.NORMAL);
+
+        }
+
+        // Only count the timed runs.
+        generator.setMetrics(new GenerationMetrics());
+
+        System.out.printf("%-8s %10s %10s %8s %9s %9s %9s %9s%n",
+                "tier", "candidates", "accepted", "rate", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            long[] latencies = new long[puzzles];
+            long candidates = 0;
+
+            for (int i = 0; i < puzzles; i++) {
+                long start = System.nanoTime();
+                generator.execute(seed, difficulty);
+                latencies[i] = System.nanoTime() - start;
+
+                candidates += generator.getCandidateCount();
+
+            }
+
+            Arrays.sort(latencies);
+
+            System.out.printf("%-8s %10d %10d %7.1f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    difficulty, candidates, puzzles, 100.0 * puzzles / candidates,
+                    percentile(latencies, 50), percentile(latencies, 90),
+                    percentile(latencies, 99), latencies[puzzles - 1] / 1e6);
+
+        }
+
+        System.out.println();
+        System.out.print(generator.getMetrics().snapshot());
+
+    }
+
+    /**
+     * Picks a percentile out of sorted latencies (nearest rank).
+     *
+     * @param sorted Latencies in nanoseconds, in ascending order.
+     * @param percent The percentile, 1 to 100.
+     * @return The latency in milliseconds.
+     */
+    private static double percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+
+    }
+
+}
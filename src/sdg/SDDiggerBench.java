@@ -0,0 +1,75 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Console benchmark for the clue-removal digger.  Reports how many
+ *          unique puzzles a single thread (so, a single core) can dig per
+ *          second, along with the average clue count they end up with.
+ */
+package sdg;
+
+import java.util.Random;
+
+/**
+ * Run from the command line:
+ * <br><br>
+ * java -cp SudokuGame.jar sdg.SDDiggerBench [puzzles] [targetClues] [minimal]
+ * <br><br>
+ * Defaults are 20000 puzzles, a target of 17 clues and minimal digging. The
+ * solutions are generated up front with a fixed random seed, so only digging
+ * is timed and runs are comparable with each other.
+ */
+public class SDDiggerBench {
+
+    public static void main(String[] args) {
+        int puzzles = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+        int targetClues = (args.length > 1) ? Integer.parseInt(args[1]) : 17;
+        boolean isMinimal = (args.length > 2) ? Boolean.parseBoolean(args[2]) : true;
+
+        // A pool of distinct solutions to dig from.  Solving an empty board
+        // always gives the same grid, so each one gets a few random seeds.
+        Random random = new Random(42);
+        int[][][] solutions = new int[256][][];
+        DancingLinksSolver solver = new DancingLinksSolver();
+
+        for (int i = 0; i < solutions.length; i++) {
+            do {
+                solutions[i] = new int[SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+
+                for (int j = 0; j < 11; j++) {
+                    solutions[i][random.nextInt(SudokuGenerator.MAX_VALUE)][random.nextInt(SudokuGenerator.MAX_VALUE)]
+                            = 1 + random.nextInt(SudokuGenerator.MAX_VALUE);
+
+                }
+
+            } while (!solver.solve(solutions[i], SearchBudget.unlimited()));
+
+        }
+
+        PuzzleDigger digger = new PuzzleDigger(new Random(7));
+        int[][] puzzle = new int[SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+
+        // Warm up so the JIT has compiled the hot paths before timing.
+        for (int i = 0; i < Math.min(puzzles, 5000); i++) {
+            digger.dig(solutions[i % solutions.length], puzzle, targetClues, isMinimal);
+
+        }
+
+        long clues = 0;
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < puzzles; i++) {
+            clues += digger.dig(solutions[i % solutions.length], puzzle, targetClues, isMinimal);
+
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println("Puzzles dug:            " + puzzles);
+        System.out.println("Target clues / minimal: " + targetClues + " / " + isMinimal);
+        System.out.println("Average clues left:     " + String.format("%.2f", (double) clues / puzzles));
+        System.out.println("Puzzles per second:     " + String.format("%.0f", puzzles / seconds));
+        System.out.println("Microseconds per puzzle: " + String.format("%.1f", seconds * 1e6 / puzzles));
+
+    }
+
+}
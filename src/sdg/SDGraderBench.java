@@ -0,0 +1,82 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Console benchmark for the logical grader.  Reports how many
+ *          puzzles a single thread can grade per second, and how the
+ *          puzzles spread over the hardest technique they need.
+ */
+package sdg;
+
+import java.util.Random;
+
+import sdg.LogicalGrader.Technique;
+
+/**
+ * Run from the command line:
+ * <br><br>
+ * java -cp SudokuGame.jar sdg.SDGraderBench [puzzles] [hints] [rounds]
+ * <br><br>
+ * Defaults are 2000 puzzles dug towards 17 clues (minimal, so a good share
+ * are hard), graded 20 times over. The puzzles are generated up front with a
+ * fixed random seed, so only grading is timed.
+ */
+public class SDGraderBench {
+
+    public static void main(String[] args) {
+        int puzzles = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        int hints = (args.length > 1) ? Integer.parseInt(args[1]) : 17;
+        int rounds = (args.length > 2) ? Integer.parseInt(args[2]) : 20;
+
+        // Dig a fixed pool of unique puzzles.
+        Random random = new Random(42);
+        PuzzleDigger digger = new PuzzleDigger(random);
+        DancingLinksSolver solver = new DancingLinksSolver();
+        GridTransformer transformer = new GridTransformer(random);
+        int[][][] pool = new int[puzzles][SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+        int[][] solution = new int[SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+
+        solver.solve(solution, SearchBudget.unlimited());
+
+        for (int i = 0; i < puzzles; i++) {
+            transformer.randomize();
+            transformer.transform(solution, solution);
+            digger.dig(solution, pool[i], hints, true);
+
+        }
+
+        // Where the puzzles land, by hardest technique; the last slot is for
+        // puzzles logic alone can't finish.
+        LogicalGrader grader = new LogicalGrader();
+        int[] hardest = new int[Technique.values().length + 1];
+
+        for (int i = 0; i < puzzles; i++) {
+            PuzzleGrade grade = grader.grade(pool[i]);
+            hardest[grade.isSolved() ? grade.getHardest().ordinal() : Technique.values().length]++;
+
+        }
+
+        long start = System.nanoTime();
+
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < puzzles; i++) {
+                grader.grade(pool[i]);
+
+            }
+
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Graded %d puzzles in %.2f s: %.0f puzzles/s%n",
+                puzzles * rounds, seconds, puzzles * rounds / seconds);
+
+        for (Technique technique : Technique.values()) {
+            System.out.printf("  %-18s %5d%n", technique, hardest[technique.ordinal()]);
+
+        }
+
+        System.out.printf("  %-18s %5d%n", "(beyond logic)", hardest[Technique.values().length]);
+
+    }
+
+}
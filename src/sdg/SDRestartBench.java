@@ -0,0 +1,137 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Console benchmark for solution generation.  Runs execute many
+ *          times and reports the latency distribution, how many restarts the
+ *          runs needed and how often the pre-generated fallback was used, so
+ *          restart schedules can be compared with each other and with none.
+ */
+package sdg;
+
+import java.util.Arrays;
+
+/**
+ * Run from the command line:
+ * <br><br>
+ * java -cp SudokuGame.jar sdg.SDRestartBench [runs] [schedule] [unit] [seed]
+ * <br><br>
+ * The schedule is luby, geometric or none. Defaults are 100000 runs, luby, a
+ * unit of 256 nodes and 16 seeded squares. Only the solution is timed: the
+ * user view is uncovered at random rather than dug, since digging is the same
+ * whatever the schedule.
+ * <br><br>
+ * NOTE: With no restarts, expect the worst runs to take the full 5 seconds,
+ * so use far fewer runs.
+ */
+public class SDRestartBench {
+
+    // Runs before timing starts, to let the JIT settle.
+    private static final int WARM_UP_RUNS = 2000;
+
+    public static void main(String[] args) {
+        int runs = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+        String name = (args.length > 1) ? args[1] : "luby";
+        long unit = (args.length > 2) ? Long.parseLong(args[2]) : 256;
+        int seed = (args.length > 3) ? Integer.parseInt(args[3]) : 16;
+
+        RestartSchedule schedule;
+        if (name.equals("none")) {
+            schedule = RestartSchedule.none();
+
+        } else if (name.equals("geometric")) {
+            schedule = RestartSchedule.geometric(unit, 1.5);
+
+        } else {
+            schedule = RestartSchedule.luby(unit);
+
+        }
+
+        SudokuGenerator generator = new SudokuGenerator(seed, 0);
+        generator.setRestartSchedule(schedule);
+        generator.setUniqueSolutionRequired(false);
+
+        for (int i = 0; i < Math.min(WARM_UP_RUNS, runs); i++) {
+            generator.execute(seed, 0, null);
+
+        }
+
+        long[] latencies = new long[runs];
+        int[] restarts = new int[runs];
+        int fallbacks = 0;
+
+        for (int i = 0; i < runs; i++) {
+            SearchBudget budget = SearchBudget.ofMillis(5000);
+            long start = System.nanoTime();
+
+            generator.execute(seed, 0, null, budget);
+
+            latencies[i] = System.nanoTime() - start;
+            restarts[i] = generator.getRestartCount();
+
+            if (budget.isExhausted()) {
+                fallbacks++;
+
+            }
+
+        }
+
+        Arrays.sort(latencies);
+        Arrays.sort(restarts);
+
+        long total = 0;
+        long totalRestarts = 0;
+        for (int i = 0; i < runs; i++) {
+            total += latencies[i];
+            totalRestarts += restarts[i];
+
+        }
+
+        System.out.println("Schedule " + schedule.getKind() + ", unit " + unit + ", seed " + seed + ", " + runs + " runs");
+        System.out.printf("Latency (us): mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                total / 1000.0 / runs, percentile(latencies, 0.5) / 1000.0, percentile(latencies, 0.9) / 1000.0,
+                percentile(latencies, 0.99) / 1000.0, percentile(latencies, 0.999) / 1000.0,
+                latencies[runs - 1] / 1000.0);
+        System.out.printf("Restarts: mean %.2f, p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n",
+                (double) totalRestarts / runs, percentile(restarts, 0.5), percentile(restarts, 0.9),
+                percentile(restarts, 0.99), percentile(restarts, 0.999), restarts[runs - 1]);
+        System.out.println("Pre-generated fallbacks: " + fallbacks);
+
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted array.
+     *
+     * @param sorted The values, in ascending order.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The value at that rank.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[rank(sorted.length, fraction)];
+
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted array.
+     *
+     * @param sorted The values, in ascending order.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The value at that rank.
+     */
+    private static int percentile(int[] sorted, double fraction) {
+        return sorted[rank(sorted.length, fraction)];
+
+    }
+
+    /**
+     * The index of the nearest-rank percentile.
+     *
+     * @param length The number of values.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The index.
+     */
+    private static int rank(int length, double fraction) {
+        return Math.max(0, (int) Math.ceil(fraction * length) - 1);
+
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Decides when a search has to stop.  A budget combines a wall-clock
+ *          deadline, a limit on search nodes and a cancellation flag that
+ *          another thread can raise.  Solvers call tick() once per node; the
+ *          clock and the flag are only looked at every CLOCK_INTERVAL nodes,
+ *          so the check costs next to nothing.
+ */
+package sdg;
+
+/**
+ * Cooperative cancellation token and search limit. One budget can span
+ * several solves (for example, every attempt of one execute call); the node
+ * count and deadline carry over between them. Each solve can also be given a
+ * slice of its own with startSlice, which stops that solve alone after a few
+ * nodes without using up the budget; this is how restarts are bounded.
+ * <br><br>
+ * A budget can be reset and used again, which is how the generator runs
+ * every execute without allocating one.
+ * <br><br>
+ * NOTE: Only cancel may be called from a thread other than the one searching.
+ */
+public class SearchBudget {
+
+    // How many nodes to visit between clock and cancellation checks.
+    private static final int CLOCK_INTERVAL = 1024;
+
+    private final long nodeLimit;
+    private boolean hasDeadline;
+    private long timeoutMillis;
+    private long deadlineNanos;
+
+    private volatile boolean isCancelled;
+    private boolean isExhausted;
+    private boolean isStopped;
+    private long nodeCount;
+    private long backtrackCount;
+    private long sliceEnd;
+    private int clockCountdown;
+
+    /**
+     * Creates a budget.
+     *
+     * @param timeoutMillis Milliseconds from now until the deadline, or
+     * Long.MAX_VALUE for none.
+     * @param nodeLimit The number of nodes the search may visit, or
+     * Long.MAX_VALUE for no limit.
+     */
+    public SearchBudget(long timeoutMillis, long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+        reset(timeoutMillis);
+
+    }
+
+    /**
+     * Puts the budget back the way it was created: nothing counted, not
+     * cancelled, no slice, and the deadline (if any) the same time from now.
+     * <br><br>
+     * NOTE: A cancel racing with reset may be lost, so only reset a budget
+     * nobody else can still cancel.
+     */
+    public void reset() {
+        reset(timeoutMillis);
+
+    }
+
+    /**
+     * Same as reset(), but with a new time allowance.
+     *
+     * @param timeoutMillis Milliseconds from now until the deadline, or
+     * Long.MAX_VALUE for none.
+     */
+    public void reset(long timeoutMillis) {
+        this.hasDeadline = timeoutMillis != Long.MAX_VALUE;
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + timeoutMillis * 1_000_000L : 0;
+        this.isCancelled = false;
+        this.isExhausted = false;
+        this.isStopped = false;
+        this.nodeCount = 0;
+        this.backtrackCount = 0;
+        this.sliceEnd = Long.MAX_VALUE;
+        this.clockCountdown = CLOCK_INTERVAL;
+
+    }
+
+    /**
+     * A budget that only stops when cancelled.
+     *
+     * @return The new budget.
+     */
+    public static SearchBudget unlimited() {
+        return new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    }
+
+    /**
+     * A budget that stops after the specified time, or when cancelled.
+     *
+     * @param timeoutMillis Milliseconds from now until the deadline.
+     * @return The new budget.
+     */
+    public static SearchBudget ofMillis(long timeoutMillis) {
+        return new SearchBudget(timeoutMillis, Long.MAX_VALUE);
+
+    }
+
+    /**
+     * A budget that stops after the specified number of search nodes, or when
+     * cancelled. Unlike a deadline, this gives the same result on every run
+     * for the same input.
+     *
+     * @param nodeLimit The number of nodes the search may visit.
+     * @return The new budget.
+     */
+    public static SearchBudget ofNodes(long nodeLimit) {
+        return new SearchBudget(Long.MAX_VALUE, nodeLimit);
+
+    }
+
+    /**
+     * Asks the search to stop at its next check. Safe to call from any
+     * thread.
+     */
+    public void cancel() {
+        this.isCancelled = true;
+
+    }
+
+    /**
+     * Accessor for the cancellation flag.
+     *
+     * @return True, if cancel has been called.
+     */
+    public boolean isCancelled() {
+        return this.isCancelled;
+
+    }
+
+    /**
+     * Reports whether the budget has run out, for any reason.
+     *
+     * @return True, once the deadline, node limit or cancellation has been
+     * noticed by tick.
+     */
+    public boolean isExhausted() {
+        return this.isExhausted;
+
+    }
+
+    /**
+     * Reports whether tick has told the current search to stop, either
+     * because the budget is exhausted or because the slice is used up.
+     *
+     * @return True, if the current search should unwind.
+     */
+    public boolean isStopped() {
+        return this.isStopped;
+
+    }
+
+    /**
+     * Starts a new slice: the searches that follow stop once they have
+     * visited nodes more nodes, even if the budget itself has plenty left.
+     * Running out of a slice does not exhaust the budget, so the caller can
+     * simply start another one.
+     *
+     * @param nodes The node limit of the slice, or Long.MAX_VALUE for none.
+     */
+    public void startSlice(long nodes) {
+        this.sliceEnd = (nodes == Long.MAX_VALUE) ? Long.MAX_VALUE : nodeCount + nodes;
+        this.isStopped = isExhausted;
+
+    }
+
+    /**
+     * Accessor for the number of nodes counted so far.
+     *
+     * @return The node count.
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+
+    }
+
+    /**
+     * Accessor for the number of dead ends counted so far.
+     *
+     * @return The backtrack count.
+     */
+    public long getBacktrackCount() {
+        return this.backtrackCount;
+
+    }
+
+    /**
+     * Counts one dead end: a node the search had to back out of without
+     * finding what it was after. Only for the metrics; it never stops the
+     * search.
+     */
+    public void backtrack() {
+        backtrackCount++;
+
+    }
+
+    /**
+     * Looks at the clock and the cancellation flag right away, for work done
+     * between searches (digging, grading) that never calls tick.
+     *
+     * @return True, if the budget is exhausted.
+     */
+    public boolean check() {
+        if (isCancelled || nodeCount > nodeLimit || (hasDeadline && System.nanoTime() - deadlineNanos > 0)) {
+            isExhausted = true;
+            isStopped = true;
+
+        }
+
+        return isExhausted;
+
+    }
+
+    /**
+     * Counts one search node and reports whether the search should stop. Once
+     * this returns true, it keeps returning true (until the next startSlice,
+     * if only the slice ran out), so every level of a recursion can simply
+     * unwind.
+     *
+     * @return True, if the budget is exhausted or the slice is used up.
+     */
+    public boolean tick() {
+        if (isStopped) {
+            return true;
+
+        }
+
+        if (++nodeCount > nodeLimit) {
+            isExhausted = true;
+
+        } else if (--clockCountdown == 0) {
+            clockCountdown = CLOCK_INTERVAL;
+
+            if (isCancelled || (hasDeadline && System.nanoTime() - deadlineNanos > 0)) {
+                isExhausted = true;
+
+            }
+
+        }
+
+        isStopped = isExhausted || nodeCount > sliceEnd;
+
+        return isStopped;
+
+    }
+
+}
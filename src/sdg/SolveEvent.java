@@ -0,0 +1,45 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Java Flight Recorder event for one solve of a seeded board during
+ *          generation.
+ */
+package sdg;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The outcome is "solved", "restart" (the attempt used up its slice of the
+ * restart schedule), "unsolvable", "exhausted" or "cancelled". Stack traces
+ * are left off, since there can be thousands of these a second. Only create
+ * one when FlightRecording.IS_AVAILABLE.
+ */
+@Name("sdg.Solve")
+@Label("Seeding Solve")
+@Category({"Sudoku", "Generation"})
+@Description("One attempt to complete a random seeding")
+@StackTrace(false)
+class SolveEvent extends jdk.jfr.Event {
+
+    @Label("Seed Count")
+    @Description("Squares seeded at random before the solve")
+    int seed;
+
+    @Label("Attempt")
+    @Description("Restarts before this attempt")
+    int attempt;
+
+    @Label("Search Nodes")
+    long nodes;
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Outcome")
+    String outcome;
+
+}
@@ -0,0 +1,544 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: A backtracking solver that keeps its own stack instead of
+ *          recursing, so a search can be run a few nodes at a time, paused
+ *          between slices, resumed later or abandoned, and never risks a
+ *          StackOverflowError however large the board.
+ */
+package sdg;
+
+import java.util.Random;
+
+/**
+ * The same depth-first search as BacktrackingSolver, square for square and
+ * draw for draw, but driven from an explicit stack of frames. Each frame is a
+ * cell and the mask of its candidates not yet tried; both arrays are sized to
+ * the board once, so a search allocates nothing as it deepens.
+ * <br><br>
+ * A search can be run to the end through the SudokuSolver methods, or in
+ * slices: start it, then call step as often as there is time for, and look at
+ * the State each call returns.
+ * <br><br>
+ * NOTE: pause, resume and abort may be called from any thread; they take
+ * effect at the next search node. Everything else belongs to the thread
+ * driving the search, and the board must be left alone until the search has
+ * finished.
+ */
+public class SteppingSolver implements SudokuSolver {
+
+    /**
+     * Where the current search stands.
+     */
+    public enum State {
+        // Nothing started yet.
+        IDLE,
+        // Started, with more of the search left to run.
+        RUNNING,
+        // Paused; step does nothing until resume is called.
+        PAUSED,
+        // The limit of solutions was reached; the last is left on the board.
+        SOLVED,
+        // The whole search space was covered; the board is as it was passed.
+        EXHAUSTED,
+        // Aborted, or the budget ran out; the board is as it was passed.
+        ABORTED
+
+    }
+
+    // Row, column and block masks kept in step with the board being solved.
+    private SudokuConstraints constraints;
+
+    // The frames. Entry depth of each is the square being filled at that
+    // depth and the candidates it has left to try; the value it holds now is
+    // on the board itself.
+    private int[] frameCells;
+    private int[] frameMasks;
+
+    // The number of frames in use, and the number of empty squares.
+    private int depth;
+    private int emptyCount;
+
+    // True when the frame at depth has just been pushed and still needs its
+    // square and candidates chosen.
+    private boolean isEntering;
+
+    // The flat board the int[][] forms copy through.
+    private byte[] scratch;
+
+    private BacktrackingSolver.SearchOrder searchOrder;
+
+    // Draws the order in which each square's candidates are tried; null
+    // means lowest first.
+    private Random candidateOrder;
+
+    private byte[] cells;
+    private SearchBudget budget;
+    private int solutionCount;
+    private int solutionLimit;
+    private State state;
+
+    // Raised from any thread, acted on by the searching one.
+    private volatile boolean isPauseRequested;
+    private volatile boolean isAbortRequested;
+
+    /**
+     * Creates a solver using the MOST_CONSTRAINED search order.
+     */
+    public SteppingSolver() {
+        this(BacktrackingSolver.SearchOrder.MOST_CONSTRAINED);
+
+    }
+
+    /**
+     * Creates a solver using the specified search order.
+     *
+     * @param searchOrder The order in which to visit empty squares.
+     */
+    public SteppingSolver(BacktrackingSolver.SearchOrder searchOrder) {
+        constraints = new SudokuConstraints();
+        frameCells = new int[SudokuGenerator.MAX_VALUE * SudokuGenerator.MAX_VALUE];
+        frameMasks = new int[frameCells.length];
+        scratch = new byte[frameCells.length];
+        this.searchOrder = searchOrder;
+        state = State.IDLE;
+
+    }
+
+    /**
+     * Accessor for the order used to pick the next square.
+     *
+     * @return The current search order.
+     */
+    public BacktrackingSolver.SearchOrder getSearchOrder() {
+        return this.searchOrder;
+
+    }
+
+    /**
+     * Selects the order used to pick the next square. Takes effect at the
+     * next start.
+     *
+     * @param searchOrder The order to use from now on.
+     */
+    public void setSearchOrder(BacktrackingSolver.SearchOrder searchOrder) {
+        this.searchOrder = searchOrder;
+
+    }
+
+    /**
+     * Accessor for the source of the candidate order.
+     *
+     * @return The Random in use, or null if candidates are tried lowest first.
+     */
+    public Random getCandidateOrder() {
+        return this.candidateOrder;
+
+    }
+
+    /**
+     * Makes the solver try the candidates of every square in an order drawn
+     * from random; see BacktrackingSolver.setCandidateOrder. Given the same
+     * Random, both solvers make the same draws and reach the same solution.
+     *
+     * @param random The source of the order, or null.
+     */
+    public void setCandidateOrder(Random random) {
+        this.candidateOrder = random;
+
+    }
+
+    /**
+     * Accessor for the state of the current search.
+     *
+     * @return The state as of the last call.
+     */
+    public State getState() {
+        return this.state;
+
+    }
+
+    /**
+     * Accessor for the number of solutions the current search has reached.
+     *
+     * @return The count so far.
+     */
+    public int getSolutionCount() {
+        return this.solutionCount;
+
+    }
+
+    /**
+     * Accessor for the number of squares the current search has filled.
+     *
+     * @return The depth of the stack.
+     */
+    public int getDepth() {
+        return this.depth;
+
+    }
+
+    /**
+     * Accessor for the number of squares the current search has to fill.
+     *
+     * @return The number of squares that were empty at start.
+     */
+    public int getEmptyCount() {
+        return this.emptyCount;
+
+    }
+
+    /**
+     * Sets up a search of cells without running any of it. Any search still
+     * in progress is dropped; its board is not restored.
+     *
+     * @param cells The board to search; it is worked on in place.
+     * @param limit The count of solutions at which to stop.
+     * @param budget Ticked once per node; the search is aborted when it runs
+     * out.
+     */
+    public void start(byte[] cells, int limit, SearchBudget budget) {
+        this.cells = cells;
+        this.solutionLimit = limit;
+        this.solutionCount = 0;
+        this.budget = budget;
+        isPauseRequested = false;
+        isAbortRequested = false;
+
+        // A board of another order needs masks and frames of its own.
+        if (cells.length != frameCells.length) {
+            constraints = new SudokuConstraints(SudokuBoard.orderOf(cells));
+            frameCells = new int[cells.length];
+            frameMasks = new int[cells.length];
+
+        }
+
+        constraints.load(cells);
+
+        // Every open cell gets a frame, in row-major order; MOST_CONSTRAINED
+        // reorders those not yet pushed as it goes.
+        emptyCount = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == 0) {
+                frameCells[emptyCount++] = cell;
+
+            }
+
+        }
+
+        depth = 0;
+        isEntering = true;
+        state = State.RUNNING;
+
+    }
+
+    /**
+     * Runs the current search for up to nodes more search nodes.
+     *
+     * @param nodes The most nodes to visit before returning.
+     * @return The state the search was left in: RUNNING if there is more to
+     * do, or PAUSED, SOLVED, EXHAUSTED or ABORTED.
+     */
+    public State step(long nodes) {
+        if (state == State.PAUSED && !isPauseRequested) {
+            state = State.RUNNING;
+
+        }
+
+        if (state != State.RUNNING) {
+            return state;
+
+        }
+
+        while (true) {
+            if (isEntering) {
+                // A new node: the place to stop, pause or give up.  The slice
+                // is checked first so that a node is only ticked once.
+                if (nodes-- <= 0) {
+                    return state;
+
+                }
+
+                if (isPauseRequested) {
+                    return state = State.PAUSED;
+
+                }
+
+                if (isAbortRequested || budget.tick()) {
+                    return finish(State.ABORTED);
+
+                }
+
+                isEntering = false;
+
+                // No open squares left, so this is a solution.
+                if (depth == emptyCount) {
+                    if (++solutionCount >= solutionLimit) {
+                        return state = State.SOLVED;
+
+                    }
+
+                    // Not enough yet; carry on from the frame below.
+                    if (--depth < 0) {
+                        return finish(State.EXHAUSTED);
+
+                    }
+
+                    continue;
+
+                }
+
+                // Move the square we want to fill next into position depth.
+                if (searchOrder == BacktrackingSolver.SearchOrder.MOST_CONSTRAINED) {
+                    selectMostConstrained(depth);
+
+                }
+
+                frameMasks[depth] = constraints.candidates(frameCells[depth]);
+
+            }
+
+            // Take back whatever the top frame tried last, then try its next
+            // candidate.
+            int cell = frameCells[depth];
+            if (cells[cell] != 0) {
+                constraints.unplace(cell, cells[cell]);
+                cells[cell] = 0;
+
+            }
+
+            int mask = frameMasks[depth];
+            if (mask == 0) {
+                // No candidate finished the search, so pop back one frame.
+                budget.backtrack();
+
+                if (--depth < 0) {
+                    return finish(State.EXHAUSTED);
+
+                }
+
+                continue;
+
+            }
+
+            int testVal = (candidateOrder == null)
+                    ? Integer.numberOfTrailingZeros(mask)
+                    : SudokuConstraints.nthDigit(mask, candidateOrder.nextInt(Integer.bitCount(mask)));
+            frameMasks[depth] = mask & ~(1 << testVal);
+
+            cells[cell] = (byte) testVal;
+            constraints.place(cell, testVal);
+
+            depth++;
+            isEntering = true;
+
+        }
+
+    }
+
+    /**
+     * Asks the search to stop at its next node, keeping its stack so it can
+     * carry on after resume. A search run through solve or countSolutions
+     * has no caller left to resume it, so it is aborted instead.
+     */
+    public void pause() {
+        isPauseRequested = true;
+
+    }
+
+    /**
+     * Lets a paused search carry on at the next step.
+     */
+    public void resume() {
+        isPauseRequested = false;
+
+    }
+
+    /**
+     * Asks the search to give up at its next node (or, if it is paused, at
+     * the next step), emptying every square it filled.
+     */
+    public void abort() {
+        isAbortRequested = true;
+        isPauseRequested = false;
+
+    }
+
+    /**
+     * Fills every empty square of board, one step after another until the
+     * search is over.
+     *
+     * @param board The array to complete, modified in place.
+     * @param budget Decides when to give up.
+     * @return True, if the board was solved.
+     */
+    @Override
+    public boolean solve(int[][] board, SearchBudget budget) {
+        byte[] cells = scratchFor(board);
+
+        if (!solve(cells, budget)) {
+            return false;
+
+        }
+
+        SudokuBoard.copy(cells, board);
+        return true;
+
+    }
+
+    /**
+     * Same as solve(board, budget), for a flat board.
+     *
+     * @param cells The board to complete, modified in place.
+     * @param budget Decides when to give up.
+     * @return True, if the board was solved.
+     */
+    @Override
+    public boolean solve(byte[] cells, SearchBudget budget) {
+        return run(cells, 1, budget) == 1;
+
+    }
+
+    /**
+     * Counts solutions by letting the search continue past a complete board
+     * until limit of them have been reached.
+     *
+     * @param board The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    @Override
+    public int countSolutions(int[][] board, int limit, SearchBudget budget) {
+        return countSolutions(scratchFor(board), limit, budget);
+
+    }
+
+    /**
+     * Same as countSolutions(board, limit, budget), for a flat board.
+     *
+     * @param cells The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    @Override
+    public int countSolutions(byte[] cells, int limit, SearchBudget budget) {
+        int count = run(cells, limit, budget);
+
+        // A successful search leaves its last solution on the board.
+        if (state == State.SOLVED) {
+            clearFilled();
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Shared body of solve and countSolutions: the whole search as one step.
+     * A pause asked for along the way ends it as aborted, so the board is put
+     * back as it was passed rather than left half filled.
+     *
+     * @param cells The board we're filling.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when to give up.
+     * @return The number of solutions found.
+     */
+    private int run(byte[] cells, int limit, SearchBudget budget) {
+        start(cells, limit, budget);
+
+        if (step(Long.MAX_VALUE) == State.PAUSED) {
+            finish(State.ABORTED);
+
+        }
+
+        return solutionCount;
+
+    }
+
+    /**
+     * Ends the search, emptying the squares it filled unless it is SOLVED.
+     *
+     * @param outcome The state to finish in.
+     * @return outcome.
+     */
+    private State finish(State outcome) {
+        if (outcome != State.SOLVED) {
+            clearFilled();
+
+        }
+
+        depth = 0;
+        state = outcome;
+
+        return outcome;
+
+    }
+
+    /**
+     * Empties every square that was open when the search started.
+     */
+    private void clearFilled() {
+        for (int i = 0; i < emptyCount; i++) {
+            cells[frameCells[i]] = 0;
+
+        }
+
+    }
+
+    /**
+     * Copies an int[][] board into the scratch board, resizing it first if the
+     * order has changed.
+     *
+     * @param board The board to copy.
+     * @return The scratch board.
+     */
+    private byte[] scratchFor(int[][] board) {
+        if (scratch.length != board.length * board.length) {
+            scratch = new byte[board.length * board.length];
+
+        }
+
+        SudokuBoard.copy(board, scratch);
+
+        return scratch;
+
+    }
+
+    /**
+     * Finds the open square with the fewest remaining candidates and swaps it
+     * into frameCells[depth].
+     *
+     * @param depth The first frame not yet pushed.
+     */
+    private void selectMostConstrained(int depth) {
+        int best = depth;
+        int bestCount = Integer.MAX_VALUE;
+
+        for (int i = depth; i < emptyCount; i++) {
+            int count = Integer.bitCount(constraints.candidates(frameCells[i]));
+
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+
+                // Can't do better than zero or one.
+                if (count <= 1) {
+                    break;
+
+                }
+
+            }
+
+        }
+
+        // Swap; the order of the squares still open does not matter.
+        int temp = frameCells[depth];
+        frameCells[depth] = frameCells[best];
+        frameCells[best] = temp;
+
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Helpers for the flat board the engine works on: one byte per
+ *          square in row-major order, so a classic board is a single
+ *          81-byte array instead of ten int arrays.  Squares are named by
+ *          their cell index, row * size + col.
+ */
+package sdg;
+
+/**
+ * Static helpers for flat boards and for moving boards between the flat form
+ * and the int[][] form the UI and older callers use.
+ * <br><br>
+ * NOTE: The copying helpers write into arrays the caller owns, so an engine
+ * that keeps its own scratch board converts without allocating.
+ */
+public final class SudokuBoard {
+
+    private SudokuBoard() {
+
+    }
+
+    /**
+     * Allocates an empty flat board.
+     *
+     * @param order The width of a block; 3 for a classic board.
+     * @return A board of order^4 zeroes.
+     */
+    public static byte[] create(int order) {
+        int size = SudokuConstraints.checkOrder(order) * order;
+
+        return new byte[size * size];
+
+    }
+
+    /**
+     * Works out the order of a flat board from its length.
+     *
+     * @param cells The board to consider.
+     * @return The width of a block.
+     * @throws IllegalArgumentException If the length is not the fourth power
+     * of a supported order.
+     */
+    public static int orderOf(byte[] cells) {
+        int order = (int) Math.round(Math.sqrt(Math.sqrt(cells.length)));
+
+        if (order * order * order * order != cells.length) {
+            throw new IllegalArgumentException("A board of " + cells.length + " squares has no order.");
+
+        }
+
+        return SudokuConstraints.checkOrder(order);
+
+    }
+
+    /**
+     * Works out the width of a flat board from its length.
+     *
+     * @param cells The board to consider.
+     * @return The number of rows, columns and digits.
+     */
+    public static int sizeOf(byte[] cells) {
+        int order = orderOf(cells);
+
+        return order * order;
+
+    }
+
+    /**
+     * Empties every square.
+     *
+     * @param cells The board to clear.
+     */
+    public static void clear(byte[] cells) {
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = 0;
+
+        }
+
+    }
+
+    /**
+     * Copies an int[][] board into a flat one of the same order.
+     *
+     * @param board The board to copy.
+     * @param cells Receives the board.
+     */
+    public static void copy(int[][] board, byte[] cells) {
+        int size = board.length;
+
+        for (int row = 0; row < size; row++) {
+            int[] line = board[row];
+            int base = row * size;
+
+            for (int col = 0; col < size; col++) {
+                cells[base + col] = (byte) line[col];
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Copies a flat board into an int[][] one of the same order.
+     *
+     * @param cells The board to copy.
+     * @param board Receives the board.
+     */
+    public static void copy(byte[] cells, int[][] board) {
+        int size = board.length;
+
+        for (int row = 0; row < size; row++) {
+            int[] line = board[row];
+            int base = row * size;
+
+            for (int col = 0; col < size; col++) {
+                line[col] = cells[base + col];
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Makes an int[][] copy of a flat board, for callers that want one of
+     * their own.
+     *
+     * @param cells The board to copy.
+     * @return The copy.
+     */
+    public static int[][] toGrid(byte[] cells) {
+        int size = sizeOf(cells);
+        int[][] board = new int[size][size];
+
+        copy(cells, board);
+
+        return board;
+
+    }
+
+    /**
+     * Makes a flat copy of an int[][] board.
+     *
+     * @param board The board to copy.
+     * @return The copy.
+     */
+    public static byte[] toCells(int[][] board) {
+        byte[] cells = new byte[board.length * board.length];
+
+        copy(board, cells);
+
+        return cells;
+
+    }
+
+    /**
+     * Counts the filled squares.
+     *
+     * @param cells The board to consider.
+     * @return The number of non-zero squares.
+     */
+    public static int countFilled(byte[] cells) {
+        int count = 0;
+
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != 0) {
+                count++;
+
+            }
+
+        }
+
+        return count;
+
+    }
+
+}
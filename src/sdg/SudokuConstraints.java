@@ -0,0 +1,535 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: Keeps the "which digits are already used" state of a Sudoku board
+ *          as one bitmask per row, column and block.  Placing or removing a
+ *          value only flips a single bit in three masks, so the candidates for
+ *          any square can be read with a couple of bit operations instead of
+ *          rescanning up to 27 squares for every digit we want to test.
+ */
+package sdg;
+
+/**
+ * Incrementally maintained row, column and block constraint masks for a
+ * Sudoku board. Digit <i>d</i> is represented by bit <i>d</i> of a mask, so a
+ * full set of Sudoku digits on a normal board is bits 1 through 9.
+ * <br><br>
+ * Boards of any order from MIN_ORDER to MAX_ORDER are supported: a board of
+ * order n has blocks n squares wide, n * n rows and columns, and the digits 1
+ * through n * n. Even at order 5 the 25 digits fit in an int, so every mask
+ * operation stays a single instruction.
+ * <br><br>
+ * Squares can be named by row and column, or by their cell index in a flat
+ * SudokuBoard (row * size + col); the cell forms look the row, column and
+ * block up in tables instead of dividing.
+ * <br><br>
+ * NOTE: The object does not own a board. The caller is responsible for keeping
+ * the masks in step with its array by calling place and unplace whenever it
+ * writes to that array.
+ */
+public class SudokuConstraints {
+
+    // The smallest and largest block widths supported.
+    public static final int MIN_ORDER = 2;
+    public static final int MAX_ORDER = 5;
+
+    // The square root of MAX_VALUE, i.e. the width and height of a block.
+    public static final int BLOCK_SIZE = 3;
+
+    // Every legal digit for the board, 1 through MAX_VALUE, as a mask.
+    public static final int ALL_DIGITS = ((1 << SudokuGenerator.MAX_VALUE) - 1) << 1;
+
+    private final int order;
+    private final int size;
+    private final int allDigits;
+
+    private final int[] rowMask;
+    private final int[] colMask;
+    private final int[] blockMask;
+
+    // The first block of the band a row is in, and the stack a column is in;
+    // their sum is the block of a square, found without dividing.
+    private final int[] bandOfRow;
+    private final int[] stackOfCol;
+
+    // The row, column and block of every cell of a flat board.
+    private final int[] rowOfCell;
+    private final int[] colOfCell;
+    private final int[] blockOfCell;
+
+    /**
+     * Creates an empty constraint state, which is the equivalent of a board
+     * filled with zeroes.
+     */
+    public SudokuConstraints() {
+        this(BLOCK_SIZE);
+
+    }
+
+    /**
+     * Creates an empty constraint state for a board of any supported order.
+     *
+     * @param order The width of a block; 3 for a classic board.
+     */
+    public SudokuConstraints(int order) {
+        this.order = checkOrder(order);
+        this.size = order * order;
+        this.allDigits = digitsOf(size);
+
+        rowMask = new int[size];
+        colMask = new int[size];
+        blockMask = new int[size];
+
+        bandOfRow = new int[size];
+        stackOfCol = new int[size];
+        for (int i = 0; i < size; i++) {
+            bandOfRow[i] = (i / order) * order;
+            stackOfCol[i] = i / order;
+
+        }
+
+        rowOfCell = new int[size * size];
+        colOfCell = new int[size * size];
+        blockOfCell = new int[size * size];
+        for (int cell = 0; cell < size * size; cell++) {
+            rowOfCell[cell] = cell / size;
+            colOfCell[cell] = cell % size;
+            blockOfCell[cell] = bandOfRow[cell / size] + stackOfCol[cell % size];
+
+        }
+
+    }
+
+    /**
+     * Accessor for the width of a block.
+     *
+     * @return The order of the board.
+     */
+    public int getOrder() {
+        return this.order;
+
+    }
+
+    /**
+     * Accessor for the number of rows, columns and digits of the board.
+     *
+     * @return The order squared.
+     */
+    public int getSize() {
+        return this.size;
+
+    }
+
+    /**
+     * Accessor for every legal digit of the board as a mask.
+     *
+     * @return A mask with bits 1 through getSize() set.
+     */
+    public int getAllDigits() {
+        return this.allDigits;
+
+    }
+
+    /**
+     * Resets every mask so that all digits are available everywhere.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            rowMask[i] = 0;
+            colMask[i] = 0;
+            blockMask[i] = 0;
+
+        }
+
+    }
+
+    /**
+     * Rebuilds the masks from the passed array. Zero-values are treated as
+     * empty squares.
+     *
+     * @param board The array whose placements should be captured.
+     */
+    public void load(int[][] board) {
+        clear();
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board[row][col] != 0) {
+                    place(row, col, board[row][col]);
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Same as load(board), for a flat board.
+     *
+     * @param cells The board whose placements should be captured.
+     */
+    public void load(byte[] cells) {
+        clear();
+
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != 0) {
+                place(cell, cells[cell]);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Marks val as used in the row, column and block of the specified square.
+     *
+     * @param row The row of the square receiving the value.
+     * @param col The column of the square receiving the value.
+     * @param val The digit placed.
+     */
+    public void place(int row, int col, int val) {
+        int bit = 1 << val;
+
+        rowMask[row] |= bit;
+        colMask[col] |= bit;
+        blockMask[bandOfRow[row] + stackOfCol[col]] |= bit;
+
+    }
+
+    /**
+     * Marks val as available again in the row, column and block of the
+     * specified square. This is the exact reverse of place.
+     *
+     * @param row The row of the square losing the value.
+     * @param col The column of the square losing the value.
+     * @param val The digit removed.
+     */
+    public void unplace(int row, int col, int val) {
+        int bit = ~(1 << val);
+
+        rowMask[row] &= bit;
+        colMask[col] &= bit;
+        blockMask[bandOfRow[row] + stackOfCol[col]] &= bit;
+
+    }
+
+    /**
+     * Same as place(row, col, val), for a cell of a flat board.
+     *
+     * @param cell The cell receiving the value.
+     * @param val The digit placed.
+     */
+    public void place(int cell, int val) {
+        int bit = 1 << val;
+
+        rowMask[rowOfCell[cell]] |= bit;
+        colMask[colOfCell[cell]] |= bit;
+        blockMask[blockOfCell[cell]] |= bit;
+
+    }
+
+    /**
+     * Same as unplace(row, col, val), for a cell of a flat board.
+     *
+     * @param cell The cell losing the value.
+     * @param val The digit removed.
+     */
+    public void unplace(int cell, int val) {
+        int bit = ~(1 << val);
+
+        rowMask[rowOfCell[cell]] &= bit;
+        colMask[colOfCell[cell]] &= bit;
+        blockMask[blockOfCell[cell]] &= bit;
+
+    }
+
+    /**
+     * Same as candidates(row, col), for a cell of a flat board.
+     *
+     * @param cell The cell.
+     * @return A mask where bit d is set if digit d violates no rule.
+     */
+    public int candidates(int cell) {
+        return allDigits & ~(rowMask[rowOfCell[cell]] | colMask[colOfCell[cell]] | blockMask[blockOfCell[cell]]);
+
+    }
+
+    /**
+     * Returns every digit that could still be legally placed at the specified
+     * square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return A mask where bit d is set if digit d violates no rule.
+     */
+    public int candidates(int row, int col) {
+        return allDigits & ~(rowMask[row] | colMask[col] | blockMask[bandOfRow[row] + stackOfCol[col]]);
+
+    }
+
+    /**
+     * Returns the digits not yet used anywhere in a row.
+     *
+     * @param row The row.
+     * @return A mask where bit d is set if digit d is still missing.
+     */
+    public int freeInRow(int row) {
+        return allDigits & ~rowMask[row];
+
+    }
+
+    /**
+     * Returns the digits not yet used anywhere in a column.
+     *
+     * @param col The column.
+     * @return A mask where bit d is set if digit d is still missing.
+     */
+    public int freeInCol(int col) {
+        return allDigits & ~colMask[col];
+
+    }
+
+    /**
+     * Returns the digits not yet used anywhere in a block.
+     *
+     * @param block The block index, as returned by block.
+     * @return A mask where bit d is set if digit d is still missing.
+     */
+    public int freeInBlock(int block) {
+        return allDigits & ~blockMask[block];
+
+    }
+
+    /**
+     * Tests a single digit against the row, column and block of the square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param val The digit to test.
+     * @return True, if the value violates no rule; false otherwise.
+     */
+    public boolean isSafe(int row, int col, int val) {
+        return ((rowMask[row] | colMask[col] | blockMask[bandOfRow[row] + stackOfCol[col]]) & (1 << val)) == 0;
+
+    }
+
+    /**
+     * Tests a single digit against the row and column of the square only.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param val The digit to test.
+     * @return True, if neither the row nor the column already hold val.
+     */
+    public boolean isSafeColOrRow(int row, int col, int val) {
+        return ((rowMask[row] | colMask[col]) & (1 << val)) == 0;
+
+    }
+
+    /**
+     * Tests a single digit against the block of the square only.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param val The digit to test.
+     * @return True, if the block does not already hold val.
+     */
+    public boolean isSafeBlock(int row, int col, int val) {
+        return (blockMask[bandOfRow[row] + stackOfCol[col]] & (1 << val)) == 0;
+
+    }
+
+    /**
+     * Calculates the index of the block containing the square on this board,
+     * counting left to right and then top to bottom.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return The block index, 0 to getSize() - 1.
+     */
+    public int block(int row, int col) {
+        return bandOfRow[row] + stackOfCol[col];
+
+    }
+
+    /**
+     * Looks up the row of a cell of a flat board.
+     *
+     * @param cell The cell.
+     * @return Its row.
+     */
+    public int rowOf(int cell) {
+        return rowOfCell[cell];
+
+    }
+
+    /**
+     * Looks up the column of a cell of a flat board.
+     *
+     * @param cell The cell.
+     * @return Its column.
+     */
+    public int colOf(int cell) {
+        return colOfCell[cell];
+
+    }
+
+    /**
+     * Looks up the block of a cell of a flat board.
+     *
+     * @param cell The cell.
+     * @return Its block index, 0 to getSize() - 1.
+     */
+    public int blockOfCell(int cell) {
+        return blockOfCell[cell];
+
+    }
+
+    /**
+     * Calculates the index of the block containing the square, counting left
+     * to right and then top to bottom.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return The block index, 0 to MAX_VALUE - 1.
+     */
+    public static int blockOf(int row, int col) {
+        return (row / BLOCK_SIZE) * BLOCK_SIZE + col / BLOCK_SIZE;
+
+    }
+
+    /**
+     * Calculates the index of the block containing the square on a board of
+     * any order.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param order The width of a block.
+     * @return The block index, 0 to order * order - 1.
+     */
+    public static int blockOf(int row, int col, int order) {
+        return (row / order) * order + col / order;
+
+    }
+
+    /**
+     * Every legal digit of a board as a mask.
+     *
+     * @param size The number of digits, i.e. the width of the board.
+     * @return A mask with bits 1 through size set.
+     */
+    public static int digitsOf(int size) {
+        return ((1 << size) - 1) << 1;
+
+    }
+
+    /**
+     * Works out the order of a board from its width.
+     *
+     * @param board The array to consider.
+     * @return The width of a block.
+     * @throws IllegalArgumentException If the width is not the square of a
+     * supported order.
+     */
+    public static int orderOf(int[][] board) {
+        int order = (int) Math.round(Math.sqrt(board.length));
+
+        if (order * order != board.length) {
+            throw new IllegalArgumentException("A board " + board.length + " squares wide has no order.");
+
+        }
+
+        return checkOrder(order);
+
+    }
+
+    /**
+     * Rejects a block width outside MIN_ORDER to MAX_ORDER.
+     *
+     * @param order The width of a block.
+     * @return The order, unchanged.
+     * @throws IllegalArgumentException If the order is not supported.
+     */
+    public static int checkOrder(int order) {
+        if (order < MIN_ORDER || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Boards of order " + order + " are not supported.");
+
+        }
+
+        return order;
+
+    }
+
+    /**
+     * Picks the n-th lowest digit out of a candidate mask. Used to select a
+     * random candidate without building a list of them first.
+     *
+     * @param mask The candidate mask.
+     * @param n Zero-based position of the digit wanted; must be less than the
+     * number of bits set in mask.
+     * @return The digit.
+     */
+    public static int nthDigit(int mask, int n) {
+        for (int i = 0; i < n; i++) {
+            // Drop the lowest set bit.
+            mask &= mask - 1;
+
+        }
+
+        return Integer.numberOfTrailingZeros(mask);
+
+    }
+
+    /**
+     * Collects the values already present in the row and column of the square
+     * on an arbitrary array. Used where no incremental state is kept, such as
+     * the user's working board.
+     *
+     * @param board The array to consider; of any supported order.
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return A mask with bit v set for every value v found.
+     */
+    public static int usedInColOrRow(int[][] board, int row, int col) {
+        int used = 0;
+
+        for (int i = 0; i < board.length; i++) {
+            used |= (1 << board[row][i]) | (1 << board[i][col]);
+
+        }
+
+        return used;
+
+    }
+
+    /**
+     * Collects the values already present in the block of the square on an
+     * arbitrary array.
+     *
+     * @param board The array to consider; of any supported order.
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return A mask with bit v set for every value v found.
+     */
+    public static int usedInBlock(int[][] board, int row, int col) {
+        int order = (board.length == SudokuGenerator.MAX_VALUE) ? BLOCK_SIZE : orderOf(board);
+        int startRow = (row / order) * order;
+        int startCol = (col / order) * order;
+        int used = 0;
+
+        for (int i = startRow; i < startRow + order; i++) {
+            for (int j = startCol; j < startCol + order; j++) {
+                used |= 1 << board[i][j];
+
+            }
+
+        }
+
+        return used;
+
+    }
+
+}
@@ -19,33 +19,136 @@
 package sdg;
 
 import java.awt.Desktop;
-import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import java.io.FileWriter;
 import java.io.IOException;
 
 // Debug imports.  Remove before final...
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
+import sdg.GenerationMetrics.Phase;
+import sdg.LogicalGrader.Technique;
+import sui.SudokuOptions.Difficulty;
 import sui.SudokuUI;
 
+/**
+ * Generates a puzzle and its solution. All of the search state lives in the
+ * instance, so any number of generators can run at once on different threads,
+ * as long as each one is only used by one thread at a time. BatchGenerator
+ * does exactly that to spread generation across every core.
+ * <br><br>
+ * NOTE: A generator makes boards of one order, 3 (the classic 9x9) unless
+ * another is given to the constructor; SudokuConstraints lists the orders
+ * supported. The pre-generated bank only holds classic solutions, so other
+ * orders fall back on solving an empty board instead.
+ * <br><br>
+ * NOTE: The solution and user view are flat boards (see SudokuBoard) that
+ * are reused for every puzzle, and every engine the generator drives keeps
+ * its scratch state between calls, so once warmed up, execute allocates
+ * nothing. getSolution and getDisplay hand out int[][] copies for the UI;
+ * getSolutionCells and getDisplayCells are the live boards.
+ */
 public class SudokuGenerator {
 
     public static final int MAX_VALUE = 9;
     private static final int MAX_INDEX = MAX_VALUE - 1;
-    private static boolean isMagicUnwindVal = false;
-    private static boolean isManuallyLoadingPuzzle = false;
 
-    private int[][] puzzleSolution;
-    private int[][] puzzleDisplay;
+    // How long execute keeps trying before it settles for a pre-generated
+    // solution.
+    private static final long GENERATION_TIMEOUT_MILLIS = 5000;
+
+    // How many bank solutions a difficulty's fallback digs and grades before
+    // it settles for one outside the band.
+    private static final int FALLBACK_CANDIDATES = 8;
+
+    // The node limit the default Luby restart schedule is multiplied by, on
+    // a classic board.  Completing a 16-square seeding with MRV takes a
+    // little over 65 nodes when it works at all, so most attempts that need
+    // more are lost.  Other orders scale it by their number of squares.
+    private static final long RESTART_UNIT = 256;
+
+    // The most nodes one uniqueness check of the digger may visit on boards
+    // larger than 9x9.  The last few clues of a big board can take seconds
+    // each to prove needed; a capped check simply keeps its clue.
+    private static final long LARGE_BOARD_CHECK_NODES = Long.getLong("sdg.checkNodes", 200);
+
+    // The width of a block, and of the board.
+    private final int order;
+    private final int size;
+
+    private byte[] puzzleSolution;
+    private byte[] puzzleDisplay;
+
+    // The flat board createSolution(int[][], ...) copies through.
+    private byte[] workingCells;
     private int[] availableForRow;
     private int[] availableForBlock;
 
+    // Row, column and block masks kept in step with puzzleSolution while
+    // seeding and solving.
+    private SudokuConstraints constraints;
+
+    // The engine createSolution hands the seeded board to.
+    private SudokuSolver solver;
+
+    // How many nodes each attempt of execute may spend before it reseeds,
+    // and how many restarts the last execute needed.
+    private RestartSchedule restartSchedule;
+    private int restartCount;
+
+    // The engine used to count solutions of the user's view.  Always Dancing
+    // Links, since it answers in microseconds.
+    private SudokuSolver countingSolver;
+    private SearchBudget countingBudget;
+
+    // Reset and reused by the executes that run on the default 5 second
+    // clock.  createSolution counts down from a time of the caller's, so it
+    // has a budget of its own; sharing one would leave the executes with
+    // whatever was left of the caller's time.
+    private SearchBudget timeoutBudget;
+    private SearchBudget solutionBudget;
+
+    // When set, createUserViewPuzzle digs the view out of the solution so
+    // that it has exactly one solution; otherwise squares are simply
+    // uncovered at random.
+    private boolean isUniqueSolutionRequired;
+
+    // When set, the digger keeps going past the hint count until no further
+    // clue can be removed.
+    private boolean isMinimalRequired;
+
+    // Builds unique views by removing clues from the solution.
+    private PuzzleDigger digger;
+
+    // Disguises pre-generated solutions, so that the same hundred grids
+    // don't keep coming back.
+    private GridTransformer transformer;
+
+    // Grades candidate views when a difficulty is asked for, and how many
+    // candidates the last such execute went through.
+    private LogicalGrader grader;
+    private int candidateCount;
+
+    // Where execute reports what it spent its time on.
+    private GenerationMetrics metrics;
+
+    // Scratch list of every board index, shuffled to pick squares to uncover.
+    private int[] revealOrder;
+
+    // This generator's own random source.  Math.random() shares one
+    // generator across the whole JVM, which parallel generation would
+    // contend on.
+    private Random random;
+
     // Sets the order to generate each of the blocks.
     private int[] orderToGenerateBlocks;
 
@@ -61,12 +164,61 @@ public class SudokuGenerator {
      * @param hint The number of shown digits when displayed on the UI.
      */
     public SudokuGenerator(int seed, int hint) {
-        puzzleSolution = new int[9][9];
-        puzzleDisplay = new int[9][9];
-        availableForRow = new int[9];
-        availableForBlock = new int[9];
+        this(seed, hint, new Random());
 
-        orderToGenerateBlocks = new int[9];
+    }
+
+    /**
+     * Same as SudokuGenerator(seed, hint), but every random choice (seeding,
+     * candidate order, digging, disguising) comes from the specified source.
+     * A seeded Random makes generation reproducible, which the benchmarks
+     * rely on.
+     *
+     * @param seed The number of numbers placed before the solution is
+     * generated.
+     * @param hint The number of shown digits when displayed on the UI.
+     * @param random The random source; used by this generator alone.
+     */
+    public SudokuGenerator(int seed, int hint, Random random) {
+        this(seed, hint, SudokuConstraints.BLOCK_SIZE, random);
+
+    }
+
+    /**
+     * Same as SudokuGenerator(seed, hint, random), but for boards of any
+     * supported order: 2 for 4x4, 3 for 9x9, 4 for 16x16 and 5 for 25x25.
+     *
+     * @param seed The number of numbers placed before the solution is
+     * generated.
+     * @param hint The number of shown digits when displayed on the UI.
+     * @param order The width of a block.
+     * @param random The random source; used by this generator alone.
+     */
+    public SudokuGenerator(int seed, int hint, int order, Random random) {
+        this.order = SudokuConstraints.checkOrder(order);
+        this.size = order * order;
+
+        puzzleSolution = new byte[size * size];
+        puzzleDisplay = new byte[size * size];
+        workingCells = new byte[size * size];
+        availableForRow = new int[size];
+        availableForBlock = new int[size];
+
+        orderToGenerateBlocks = new int[size];
+        constraints = new SudokuConstraints(order);
+        this.random = random;
+        solver = createDefaultSolver(random);
+        restartSchedule = RestartSchedule.luby(RESTART_UNIT * size * size / (MAX_VALUE * MAX_VALUE));
+        countingSolver = new DancingLinksSolver(order);
+        countingBudget = SearchBudget.unlimited();
+        timeoutBudget = SearchBudget.ofMillis(GENERATION_TIMEOUT_MILLIS);
+        solutionBudget = SearchBudget.ofMillis(GENERATION_TIMEOUT_MILLIS);
+        revealOrder = new int[size * size];
+        digger = createDigger(random, order);
+        transformer = new GridTransformer(random, order);
+        grader = new LogicalGrader(order);
+        metrics = GenerationMetrics.getDefault();
+        isUniqueSolutionRequired = true;
 
         // Deprecated
         //regenerateAvailableNumbersForRow();
@@ -82,14 +234,31 @@ public class SudokuGenerator {
      * @param hints The number of display squares to show.
      */
     public SudokuGenerator(int[][] array, int hints) {
-        puzzleSolution = new int[9][9];
-        puzzleSolution = array;
-
-        puzzleDisplay = new int[9][9];
-        availableForRow = new int[9];
-        availableForBlock = new int[9];
-
-        orderToGenerateBlocks = new int[9];
+        order = SudokuConstraints.orderOf(array);
+        size = order * order;
+
+        puzzleSolution = SudokuBoard.toCells(array);
+
+        puzzleDisplay = new byte[size * size];
+        workingCells = new byte[size * size];
+        availableForRow = new int[size];
+        availableForBlock = new int[size];
+
+        orderToGenerateBlocks = new int[size];
+        constraints = new SudokuConstraints(order);
+        random = new Random();
+        solver = createDefaultSolver(random);
+        restartSchedule = RestartSchedule.luby(RESTART_UNIT * size * size / (MAX_VALUE * MAX_VALUE));
+        countingSolver = new DancingLinksSolver(order);
+        countingBudget = SearchBudget.unlimited();
+        timeoutBudget = SearchBudget.ofMillis(GENERATION_TIMEOUT_MILLIS);
+        solutionBudget = SearchBudget.ofMillis(GENERATION_TIMEOUT_MILLIS);
+        revealOrder = new int[size * size];
+        digger = createDigger(random, order);
+        transformer = new GridTransformer(random, order);
+        grader = new LogicalGrader(order);
+        metrics = GenerationMetrics.getDefault();
+        isUniqueSolutionRequired = true;
 
         // Deprecated
         //regenerateAvailableNumbersForRow();
@@ -98,26 +267,292 @@ public class SudokuGenerator {
 
     }
 
+    /**
+     * The digger a new generator starts with: unlimited on classic and
+     * smaller boards, capped per check on larger ones.
+     *
+     * @param random The source of the removal order.
+     * @param order The width of a block.
+     * @return The digger.
+     */
+    private static PuzzleDigger createDigger(Random random, int order) {
+        PuzzleDigger digger = new PuzzleDigger(random);
+
+        if (order > SudokuConstraints.BLOCK_SIZE) {
+            digger.setCheckNodeLimit(LARGE_BOARD_CHECK_NODES);
+
+        }
+
+        return digger;
+
+    }
+
+    /**
+     * The engine a new generator starts with: MRV backtracking that tries
+     * candidates in random order, so that restarts explore new ground. The
+     * stepping form keeps its own stack, so even a 25x25 board cannot
+     * overflow the thread's.
+     *
+     * @param random The source of the candidate order.
+     * @return The solver.
+     */
+    private static SudokuSolver createDefaultSolver(Random random) {
+        SteppingSolver stepper = new SteppingSolver();
+        stepper.setCandidateOrder(random);
+
+        return stepper;
+
+    }
+
+    /**
+     * Accessor for the width of a block.
+     *
+     * @return The order of the boards this generator makes.
+     */
+    public int getOrder() {
+        return this.order;
+
+    }
+
+    /**
+     * Accessor for the number of rows, columns and digits of a board.
+     *
+     * @return The order squared; 9 for a classic board.
+     */
+    public int getSize() {
+        return this.size;
+
+    }
+
     /**
      * Accessor for the puzzle-solution array.
+     * <br><br>
+     * NOTE: This is a copy; writing to it does not change the generator.
+     * Fetch it once rather than once per square.
      *
-     * @return The puzzle solution array.
+     * @return A copy of the puzzle solution.
      */
     public int[][] getSolution() {
-        return this.puzzleSolution;
+        return SudokuBoard.toGrid(puzzleSolution);
 
     }
 
     /**
      * Accessor for the user's puzzle-view.
+     * <br><br>
+     * NOTE: This is a copy; writing to it does not change the generator.
+     * Fetch it once rather than once per square.
      *
-     * @return The user's view array.
+     * @return A copy of the user's view.
      */
     public int[][] getDisplay() {
+        return SudokuBoard.toGrid(puzzleDisplay);
+
+    }
+
+    /**
+     * Accessor for the live puzzle solution, as a flat board.
+     *
+     * @return The solution; overwritten by the next puzzle.
+     */
+    public byte[] getSolutionCells() {
+        return this.puzzleSolution;
+
+    }
+
+    /**
+     * Accessor for the live user view, as a flat board.
+     *
+     * @return The view; overwritten by the next puzzle.
+     */
+    public byte[] getDisplayCells() {
         return this.puzzleDisplay;
 
     }
 
+    /**
+     * Copies a board in as the puzzle solution, for example to dig a view
+     * out of a known solution.
+     *
+     * @param board The solution, of this generator's order.
+     */
+    public void setSolution(int[][] board) {
+        SudokuBoard.copy(board, puzzleSolution);
+
+    }
+
+    /**
+     * Takes a copy of the current solution and user view, which stays valid
+     * however this generator is used afterwards.
+     *
+     * @return The puzzle most recently generated.
+     */
+    public SudokuPuzzle getPuzzle() {
+        return new SudokuPuzzle(puzzleSolution, puzzleDisplay);
+
+    }
+
+    /**
+     * Makes a finished puzzle (for example, one taken from a PuzzlePool) the
+     * current one, so getSolution and getDisplay return it.
+     *
+     * @param puzzle The puzzle to copy in, of this generator's order.
+     */
+    public void setPuzzle(SudokuPuzzle puzzle) {
+        puzzle.copyTo(puzzleSolution, puzzleDisplay);
+
+    }
+
+    /**
+     * Accessor for the engine createSolution uses.
+     *
+     * @return The current solver.
+     */
+    public SudokuSolver getSolver() {
+        return this.solver;
+
+    }
+
+    /**
+     * Selects the engine createSolution uses. The default is a
+     * SteppingSolver with a randomized candidate order; a
+     * DancingLinksSolver is much faster when many boards have to be solved.
+     *
+     * @param solver The solver to use from now on.
+     */
+    public void setSolver(SudokuSolver solver) {
+        this.solver = solver;
+
+    }
+
+    /**
+     * Accessor for the restart schedule execute follows.
+     *
+     * @return The current schedule.
+     */
+    public RestartSchedule getRestartSchedule() {
+        return this.restartSchedule;
+
+    }
+
+    /**
+     * Selects how many nodes each attempt of execute may spend before the
+     * board is reseeded and the search starts over. The default is a Luby
+     * schedule; RestartSchedule.none() gives the original single long search
+     * per seeding.
+     *
+     * @param restartSchedule The schedule to use from now on.
+     */
+    public void setRestartSchedule(RestartSchedule restartSchedule) {
+        this.restartSchedule = restartSchedule;
+
+    }
+
+    /**
+     * Accessor for the number of restarts the last execute needed.
+     *
+     * @return The number of attempts that were given up, beyond the first.
+     */
+    public int getRestartCount() {
+        return this.restartCount;
+
+    }
+
+    /**
+     * Accessor for the metrics execute records into.
+     *
+     * @return The metrics.
+     */
+    public GenerationMetrics getMetrics() {
+        return this.metrics;
+
+    }
+
+    /**
+     * Selects the metrics execute records into. The default is
+     * GenerationMetrics.getDefault(), shared by every generator and visible
+     * over JMX; separate metrics keep one generator's figures apart.
+     *
+     * @param metrics The metrics to record into from now on.
+     */
+    public void setMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+
+    }
+
+    /**
+     * Accessor for the number of puzzles the last execute for a difficulty
+     * generated, counting the one it returned.
+     *
+     * @return The candidate count; 1 means the first puzzle was in the band.
+     */
+    public int getCandidateCount() {
+        return this.candidateCount;
+
+    }
+
+    /**
+     * Accessor for the unique-solution generation mode.
+     *
+     * @return True, if generated views always have exactly one solution.
+     */
+    public boolean isUniqueSolutionRequired() {
+        return this.isUniqueSolutionRequired;
+
+    }
+
+    /**
+     * Turns the unique-solution generation mode on or off. When on (the
+     * default), the user's view is dug out of the solution with a
+     * PuzzleDigger and is guaranteed to have exactly one solution. That means
+     * it may show more squares than the hints requested: no Sudoku with fewer
+     * than 17 clues has a unique solution, and most solutions can't be dug
+     * nearly that far. When off, hints squares are uncovered at random.
+     *
+     * @param isUniqueSolutionRequired True to require a unique solution.
+     */
+    public void setUniqueSolutionRequired(boolean isUniqueSolutionRequired) {
+        this.isUniqueSolutionRequired = isUniqueSolutionRequired;
+
+    }
+
+    /**
+     * Accessor for the minimal-puzzle option.
+     *
+     * @return True, if dug views are always minimal.
+     */
+    public boolean isMinimalRequired() {
+        return this.isMinimalRequired;
+
+    }
+
+    /**
+     * When set, the digger keeps removing clues past the hints count until
+     * none can be removed without losing uniqueness. Only applies in
+     * unique-solution mode.
+     *
+     * @param isMinimalRequired True to always dig to a minimal puzzle.
+     */
+    public void setMinimalRequired(boolean isMinimalRequired) {
+        this.isMinimalRequired = isMinimalRequired;
+
+    }
+
+    /**
+     * Counts the solutions of a puzzle, stopping as soon as limit of them have
+     * been found, so countSolutions(board, 2) is enough to tell a unique
+     * puzzle from one with several answers.
+     *
+     * @param board The puzzle to examine; zeroes are empty squares. It is not
+     * modified.
+     * @param limit The count at which to stop searching.
+     * @return The number of solutions, never more than limit.
+     */
+    public int countSolutions(int[][] board, int limit) {
+        return countingSolver.countSolutions(board, limit, countingBudget);
+
+    }
+
     /**
      * This method controls the generation of the puzzle and presents the puzzle
      * for view by the user. Because the method selected may not result in a
@@ -134,21 +569,141 @@ public class SudokuGenerator {
      * @param game The calling UI.
      */
     public void execute(int seed, int hints, SudokuUI game) {
+        execute(seed, hints, game, this.solver);
+
+    }
+
+    /**
+     * Same as execute(seed, hints, game), but solves the seeded board with the
+     * specified engine. The engine also becomes the one getSolver returns.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param hints The number of squares to uncover when displaying to the
+     * user.
+     * @param game The calling UI.
+     * @param solver The engine used to complete the seeded board.
+     */
+    public void execute(int seed, int hints, SudokuUI game, SudokuSolver solver) {
+        this.solver = solver;
+
         // Count from this point how long execution takes and bail out
-        // if longer than elapsed. 
-        long baseTime = System.currentTimeMillis();
+        // if longer than elapsed.
+        timeoutBudget.reset();
+        execute(seed, hints, game, timeoutBudget);
+
+    }
+
+    /**
+     * Same as execute(seed, hints, game), but every solve is charged to the
+     * specified budget instead of a fixed 5 second clock. A node-limited
+     * budget makes the fallback deterministic, and a budget cancelled from
+     * another thread stops generation, digging included, within one search
+     * slice or uniqueness check, typically well under a millisecond.
+     * <br><br>
+     * NOTE: If the budget runs out on its own, a pre-generated solution is
+     * used, as before. If it was cancelled, nothing is loaded and the solution
+     * and user view are left as they are.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param hints The number of squares to uncover when displaying to the
+     * user.
+     * @param game The calling UI.
+     * @param budget Shared by every attempt of this call.
+     * @return True, if a puzzle was produced; false, if the budget was
+     * cancelled.
+     */
+    public boolean execute(int seed, int hints, SudokuUI game, SearchBudget budget) {
+        long executeStart = System.nanoTime();
+        long nodesBefore = budget.getNodeCount();
+        long backtracksBefore = budget.getBacktrackCount();
+        long phaseStart;
+        int abandoned = 0;
+        String outcome = "generated";
+
+        // Flight recorder events stay null on a JVM without JFR, and while
+        // nothing is recording them.
+        GenerationEvent generationEvent = null;
+        if (FlightRecording.IS_AVAILABLE && FlightRecording.Probes.GENERATION.isEnabled()) {
+            generationEvent = new GenerationEvent();
+            generationEvent.begin();
+
+        }
+
+        restartCount = -1;
 
         do {
+            // Somebody else no longer wants this puzzle.
+            if (budget.isCancelled()) {
+                metrics.recordCancellation();
+                metrics.recordSearch(budget.getNodeCount() - nodesBefore,
+                        budget.getBacktrackCount() - backtracksBefore, abandoned);
+                commitGenerationEvent(generationEvent, seed, hints, budget.getNodeCount() - nodesBefore, "cancelled");
+                return false;
+
+            }
+
+            // Out of time or nodes, so fall back on a pre-generated solution.
+            if (budget.isExhausted()) {
+                metrics.recordTimeout();
+                metrics.recordFallback();
+                outcome = "fallback";
+
+                FallbackEvent fallbackEvent = null;
+                if (FlightRecording.IS_AVAILABLE && FlightRecording.Probes.FALLBACK.isEnabled()) {
+                    fallbackEvent = new FallbackEvent();
+                    fallbackEvent.begin();
+
+                }
+
+                phaseStart = System.nanoTime();
+                int record = loadPreGeneratedSolution();
+                metrics.record(Phase.FALLBACK, System.nanoTime() - phaseStart);
+
+                commitFallbackEvent(fallbackEvent, seed, budget.getNodeCount() - nodesBefore, record);
+                break;
+
+            }
+
+            // Start every attempt from an empty board.  A failed attempt
+            // leaves its seeds behind, and piling new seeds on top of an
+            // unsolvable seeding only makes the next attempt worse.
+            clearSolution();
+
             // Method chosen here is to use seed-number of randomly selected 
             // numbers at random locations for the generation of the puzzle.
+            phaseStart = System.nanoTime();
             generatePuzzlePureRandom(seed);
+            metrics.record(Phase.SEEDING, System.nanoTime() - phaseStart);
+            restartCount++;
 
             // Console debug print: TAKE OUT LATER.
             //printArray(puzzleSolution, "INITIAL SEEDING");
 
-            // Using the seeded array, we'll generate the solution via brute-
-            // force backward generation.
-            createSolution(getSolution(), baseTime, game);
+            // Using the seeded array, we'll generate the solution via the
+            // selected solver.  If this attempt uses up its share of nodes,
+            // the seeding is abandoned and we go round again.
+            budget.startSlice(restartSchedule.nodeLimit(restartCount));
+
+            SolveEvent solveEvent = null;
+            if (FlightRecording.IS_AVAILABLE && FlightRecording.Probes.SOLVE.isEnabled()) {
+                solveEvent = new SolveEvent();
+                solveEvent.begin();
+
+            }
+
+            long solveNodesBefore = budget.getNodeCount();
+            phaseStart = System.nanoTime();
+            solver.solve(puzzleSolution, budget);
+
+            commitSolveEvent(solveEvent, seed, budget.getNodeCount() - solveNodesBefore, budget);
+            if (checkIfValidPuzzle()) {
+                metrics.record(Phase.SOLVING, System.nanoTime() - phaseStart);
+
+            } else {
+                metrics.record(Phase.RETRYING, System.nanoTime() - phaseStart);
+                abandoned++;
+
+            }
 
             // Console debug print: TAKE OUT LATER.
             //printArray(puzzleSolution, "PUZZLE SOLUTION");
@@ -156,14 +711,341 @@ public class SudokuGenerator {
         // a proper solution. 
         while (!checkIfValidPuzzle());
 
-        // I want the user to specify the number of hints, but the for-loop
-        // is set to go to, but not include the hints-number, so we'll just
-        // increment here instead of at the for-loop.
-        createUserViewPuzzle(hints + 1);
+        // The budget may be reused by the caller.
+        budget.startSlice(Long.MAX_VALUE);
+
+        // Uncover the hints for the user.  Digging is the longest phase on
+        // the big boards, so a cancel stops it too.
+        phaseStart = System.nanoTime();
+        createUserViewPuzzle(hints, budget);
+        metrics.record(Phase.DIGGING, System.nanoTime() - phaseStart);
+
+        if (budget.isCancelled()) {
+            metrics.recordCancellation();
+            metrics.recordSearch(budget.getNodeCount() - nodesBefore,
+                    budget.getBacktrackCount() - backtracksBefore, abandoned);
+            commitGenerationEvent(generationEvent, seed, hints, budget.getNodeCount() - nodesBefore, "cancelled");
+            return false;
+
+        }
+
+        metrics.recordSearch(budget.getNodeCount() - nodesBefore,
+                budget.getBacktrackCount() - backtracksBefore, abandoned);
+        metrics.recordPuzzle();
+        metrics.record(Phase.EXECUTE, System.nanoTime() - executeStart);
+        commitGenerationEvent(generationEvent, seed, hints, budget.getNodeCount() - nodesBefore, outcome);
 
         // Console debug print: TAKE OUT LATER.
         //printArray(puzzleDisplay, "USER VIEW");
 
+        return true;
+
+    }
+
+    /**
+     * Fills in and commits a generation event, if one is being recorded.
+     *
+     * @param event The event, or null without JFR.
+     * @param seed The number of squares seeded.
+     * @param hints The number of clues wanted.
+     * @param nodes The search nodes execute spent.
+     * @param outcome How execute ended.
+     */
+    private void commitGenerationEvent(GenerationEvent event, int seed, int hints, long nodes, String outcome) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+
+        }
+
+        event.seed = seed;
+        event.hints = hints;
+        event.nodes = nodes;
+        event.restarts = Math.max(restartCount, 0);
+        event.outcome = outcome;
+        event.commit();
+
+    }
+
+    /**
+     * Fills in and commits a solve event, if one is being recorded.
+     *
+     * @param event The event, or null without JFR.
+     * @param seed The number of squares seeded.
+     * @param nodes The search nodes the solve spent.
+     * @param budget The budget the solve ran on, which tells why it stopped.
+     */
+    private void commitSolveEvent(SolveEvent event, int seed, long nodes, SearchBudget budget) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+
+        }
+
+        event.seed = seed;
+        event.attempt = restartCount;
+        event.nodes = nodes;
+        event.solver = solver.getClass().getSimpleName();
+
+        if (checkIfValidPuzzle()) {
+            event.outcome = "solved";
+
+        } else if (budget.isCancelled()) {
+            event.outcome = "cancelled";
+
+        } else if (budget.isExhausted()) {
+            event.outcome = "exhausted";
+
+        } else if (budget.isStopped()) {
+            event.outcome = "restart";
+
+        } else {
+            event.outcome = "unsolvable";
+
+        }
+
+        event.commit();
+
+    }
+
+    /**
+     * Fills in and commits a fallback event, if one is being recorded.
+     *
+     * @param event The event, or null without JFR.
+     * @param seed The number of squares seeded in the attempts given up on.
+     * @param nodes The search nodes spent before giving up.
+     * @param record The bank record used, or -1 if there was no bank.
+     */
+    private void commitFallbackEvent(FallbackEvent event, int seed, long nodes, int record) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+
+        }
+
+        event.seed = seed;
+        event.nodes = nodes;
+        event.record = record;
+        event.outcome = (record < 0) ? "search" : "bank";
+        event.commit();
+
+    }
+
+    /**
+     * Generates a puzzle of the specified difficulty, allowing 5 seconds.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param difficulty The difficulty wanted.
+     * @see #execute(int, Difficulty, SearchBudget)
+     */
+    public void execute(int seed, Difficulty difficulty) {
+        timeoutBudget.reset();
+        execute(seed, difficulty, timeoutBudget);
+
+    }
+
+    /**
+     * Generates puzzles with the difficulty's clue count until one lands in
+     * its band of techniques (rejection sampling). Each candidate is graded
+     * with the band's ceiling as the grader's ceiling, so a candidate that
+     * needs something harder is thrown out the moment the allowed techniques
+     * get stuck, without ever trying the harder ones.
+     * <br><br>
+     * NOTE: If the budget runs out first, the last candidate is kept even
+     * though it is out of the band; a puzzle of the wrong difficulty is
+     * better than no puzzle. getCandidateCount tells how many were tried.
+     * On boards other than 9x9 the bands don't apply, so the first puzzle
+     * with the difficulty's clue count is taken.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param difficulty The difficulty wanted.
+     * @param budget Shared by every candidate of this call.
+     * @return True, if a puzzle was produced; false, if the budget was
+     * cancelled.
+     */
+    public boolean execute(int seed, Difficulty difficulty, SearchBudget budget) {
+        candidateCount = 0;
+
+        if (order != SudokuConstraints.BLOCK_SIZE) {
+            candidateCount = 1;
+            return execute(seed, difficulty.getHints(order), null, budget);
+
+        }
+
+        while (true) {
+            if (!execute(seed, difficulty.getDiffCode(), null, budget)) {
+                return false;
+
+            }
+
+            candidateCount++;
+
+            long gradeStart = System.nanoTime();
+            boolean isAccepted = isInBand(puzzleDisplay, difficulty);
+            metrics.record(Phase.GRADING, System.nanoTime() - gradeStart);
+
+            if (isAccepted) {
+                return true;
+
+            }
+
+            // Grading doesn't tick the budget, so look at the clock here.
+            if (budget.check()) {
+                return !budget.isCancelled();
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Checks a view against a difficulty's band, grading no further than it
+     * takes to decide.
+     *
+     * @param puzzle The view to check.
+     * @param difficulty The difficulty wanted.
+     * @return True, if the hardest technique the view needs is in the band.
+     */
+    private boolean isInBand(byte[] puzzle, Difficulty difficulty) {
+        Technique easiest = difficulty.getEasiestTechnique();
+        Technique hardest = difficulty.getHardestTechnique();
+
+        if (hardest != null) {
+            // Stuck means it needs something past the ceiling.
+            boolean isSolved = grader.check(puzzle, hardest);
+
+            return isSolved && (easiest == null
+                    || (grader.getHardest() != null && grader.getHardest().compareTo(easiest) >= 0));
+
+        }
+
+        if (easiest == null || easiest.ordinal() == 0) {
+            return true;
+
+        }
+
+        // No ceiling: the puzzle is hard enough exactly when everything
+        // easier than the floor gets stuck on it.
+        Technique belowFloor = Technique.values()[easiest.ordinal() - 1];
+
+        return !grader.check(puzzle, belowFloor);
+
+    }
+
+    /**
+     * Runs execute(seed, hints, null) on the common ForkJoinPool.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param hints The number of squares to uncover when displaying to the
+     * user.
+     * @return The puzzle, once it is ready.
+     * @see #executeAsync(int, int, Executor)
+     */
+    public CompletableFuture<SudokuPuzzle> executeAsync(int seed, int hints) {
+        return executeAsync(seed, hints, ForkJoinPool.commonPool());
+
+    }
+
+    /**
+     * Generates a puzzle on another thread, so that the caller (the JavaFX
+     * Application Thread, say) never waits for it. Cancelling the returned
+     * future cancels the search as well, within a few microseconds.
+     * <br><br>
+     * NOTE: The generator belongs to the worker until the future completes,
+     * so don't call anything else on it in the meantime; the result is a
+     * SudokuPuzzle copy for exactly that reason. A generator made just for
+     * the request is the simplest way to keep to this.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param hints The number of squares to uncover when displaying to the
+     * user.
+     * @param executor Runs the generation.
+     * @return The puzzle, once it is ready.
+     */
+    public CompletableFuture<SudokuPuzzle> executeAsync(final int seed, final int hints, Executor executor) {
+        return executeAsync(budget -> execute(seed, hints, null, budget), executor);
+
+    }
+
+    /**
+     * Runs execute(seed, difficulty) on the common ForkJoinPool.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param difficulty The difficulty wanted.
+     * @return The puzzle, once it is ready.
+     * @see #executeAsync(int, int, Executor)
+     */
+    public CompletableFuture<SudokuPuzzle> executeAsync(int seed, Difficulty difficulty) {
+        return executeAsync(seed, difficulty, ForkJoinPool.commonPool());
+
+    }
+
+    /**
+     * Same as executeAsync(seed, hints, executor), but for a puzzle of the
+     * specified difficulty.
+     *
+     * @param seed The number of squares to pre-complete before solving.
+     * @param difficulty The difficulty wanted.
+     * @param executor Runs the generation.
+     * @return The puzzle, once it is ready.
+     */
+    public CompletableFuture<SudokuPuzzle> executeAsync(final int seed, final Difficulty difficulty, Executor executor) {
+        return executeAsync(budget -> execute(seed, difficulty, budget), executor);
+
+    }
+
+    /**
+     * Does the work of both executeAsync forms: runs one of the budgeted
+     * executes on the executor, wired to the returned future.
+     *
+     * @param generate Generates into this generator; false means cancelled.
+     * @param executor Runs the generation.
+     * @return The puzzle, once it is ready.
+     */
+    private CompletableFuture<SudokuPuzzle> executeAsync(final Predicate<SearchBudget> generate, Executor executor) {
+        final SearchBudget budget = SearchBudget.ofMillis(GENERATION_TIMEOUT_MILLIS);
+        final CompletableFuture<SudokuPuzzle> result = new CompletableFuture<SudokuPuzzle>();
+
+        // Cancelling the future stops the search too.
+        result.whenComplete((puzzle, ex) -> {
+            if (result.isCancelled()) {
+                budget.cancel();
+
+            }
+        });
+
+        executor.execute(() -> {
+            // Cancelled before it even started.
+            if (result.isDone()) {
+                return;
+
+            }
+
+            try {
+                if (generate.test(budget)) {
+                    result.complete(getPuzzle());
+
+                } else {
+                    result.cancel(false);
+
+                }
+
+            } catch (Throwable ex) {
+                // Errors too; otherwise the future would never complete and
+                // the caller would wait on it forever.
+                result.completeExceptionally(ex);
+
+            }
+        });
+
+        return result;
+
+    }
+
+    /**
+     * Resets every square of the puzzle solution to zero (empty).
+     */
+    private void clearSolution() {
+        SudokuBoard.clear(puzzleSolution);
+
     }
 
     /**
@@ -232,7 +1114,7 @@ public class SudokuGenerator {
                 val = 1 + (int) (Math.random() * SudokuGenerator.MAX_VALUE);
 
                 if (!usedArray.contains(val)) {
-                    puzzleSolution[i][i] = val;
+                    puzzleSolution[i * size + i] = (byte) val;
                     usedArray.add(val);
                     isUnique = true;
 
@@ -254,167 +1136,106 @@ public class SudokuGenerator {
      * the goal).
      *
      * @param seed The number of array locations required to give a starting
-     * point for the puzzle.
+     * point for the puzzle; never more than the squares on the board.
      */
     public void generatePuzzlePureRandom(int seed) {
-        int row = 0;
-        int col = 0;
+        int cell = 0;
         int val = 0;
-        boolean isEmptySq = true;
+        int candidates = 0;
+
+        // A small board may not have seed squares to give.
+        seed = Math.min(seed, size * size);
+
+        // Pick up whatever is already on the board so the masks agree with it.
+        constraints.load(puzzleSolution);
 
         // Iterate and fill the array at a random, unfilled location with a
         // random value.
         for (int i = 0; i < seed; i++) {
             // Get a position by selecting a random row and column.
-            row = 0 + (int) (Math.random() * SudokuGenerator.MAX_VALUE);
-            col = 0 + (int) (Math.random() * SudokuGenerator.MAX_VALUE);
+            cell = random.nextInt(size) * size + random.nextInt(size);
 
             // The value, if already placed, must result in a hint not
             // being consumed and the remainder of the loop-code skipped.
-            if (puzzleSolution[row][col] != 0) {
+            if (puzzleSolution[cell] != 0) {
                 i--;
                 continue;
 
             }
 
-            // Initial value to place.
-            val = 0 + (int) (Math.random() * SudokuGenerator.MAX_VALUE);
-
-            // Loop if the value is no-joy: not safe because of clashes with row,
-            // column, or block.
-            while (!isSafeBlock(puzzleSolution, val, row, col)
-                    || !isSafeColOrRow(puzzleSolution, val, row, col)) {
-                // Value wasn't safe, so let's try a different random.
-                val = 0 + (int) (Math.random() * SudokuGenerator.MAX_VALUE);
+            // Every value that clashes with nothing in the row, column or
+            // block.  If there are none, no solution can fill this square,
+            // so the seeding is already dead; stop here and let the solver
+            // fail fast rather than hunting for squares that may not exist.
+            candidates = constraints.candidates(cell);
+            if (candidates == 0) {
+                break;
 
             }
 
+            // Pick one of the safe values at random.
+            val = SudokuConstraints.nthDigit(candidates, random.nextInt(Integer.bitCount(candidates)));
+
             // Because the square is empty, and because the placement violate no 
             // Sudoku rules, set the value.
-            puzzleSolution[row][col] = val;
+            puzzleSolution[cell] = (byte) val;
+            constraints.place(cell, val);
 
         }
 
     }
 
     /**
-     * NOTE: This method appears to be a candidate for some optimization because
-     * it iterates fully through the entire puzzle again to find a space rather
-     * than keeping track of where we left off and starting there.
+     * Completes workingSolution with the current solver. If the solver is still
+     * busy 5 seconds after baseTime, it gives up and a pre-generated puzzle is
+     * loaded instead.
      *
      * @param workingSolution The array we're testing.
      * @param baseTime Indicates the starting time of the game generation, and
      * is used to calculate elapsed time in puzzleGen. If this exceeds a certain
      * threshold, we'll simply display a pre-generated puzzle.
      * @param game The place to display the puzzle.
-     * @return Recursively, returns true if the current placement does not break
-     * any rules, and false if it does. Also returns true (solved) once no
-     * additional open spaces remain in the array.
+     * @return True, if workingSolution was solved; false if the seeding has
+     * no solution or the time ran out.
      */
     public boolean createSolution(int[][] workingSolution, long baseTime, SudokuUI game) {
-        // Used to track the index-row of the currently considered square.
-        int row = -1;
-
-        // Used to track the index-col of the currently considered square.
-        int col = -1;
-
-        // A quick test of whether the square can be considered.
-        // 2018.12.24: Consider changing the name from isEmptySq to isFilledSq
-        // to make it read more logically.
-        boolean isEmptySq = true;
-
-        // If we've detected that the time on recursion is too long AND we've
-        // not yet started manually loading the puzzle, let's do this...
-        if (isMagicUnwindVal && !isManuallyLoadingPuzzle) {
-            // The unspooling of this method is problematic...  It will run many, many times
-            // leading to some weird puzzle output results.
-            showPreGeneratedPuzzle(game);
-
-            // Flip this flag so we don't have to showPreGeneratedPuzzle again.
-            SudokuGenerator.isManuallyLoadingPuzzle = true;
-
-            // Begin unwinding the recursion.
-            return false;
+        SudokuBoard.copy(workingSolution, workingCells);
 
-        }
-
-        // Quick time check here!!!  Greater than 5 seconds, let's unravel and 
-        // display a pre-gen puzzle.
-        long elapsedTime = System.currentTimeMillis();
-        if (elapsedTime - baseTime > 5000) {
-            // Initially let the method know that we're passed the allowed time,
-            // so it's time to begin unwinding recursion.
-            SudokuGenerator.isMagicUnwindVal = true;
-
-            // Start unwinding.
+        if (!createSolution(workingCells, baseTime, game)) {
             return false;
 
         }
 
-        // Begin at the left- and top-most cell and iterate the array, looking
-        // for the first instance of an unassigned (0) cell.  NOTE: Could benefit
-        // from some optimization by potentially adding additional parameters
-        // to track the starting point of the array when passed by the caller.
-        for (int i = 0; i < SudokuGenerator.MAX_VALUE; i++) {
-            for (int j = 0; j < SudokuGenerator.MAX_VALUE; j++) {
-                // Look for an empty space (translated, a 0-value).
-                if (workingSolution[i][j] == 0) {
-                    row = i;
-                    col = j;
-                    isEmptySq = false;
-                    break;
-
-                }
-
-            }
-
-            // If we find an empty square, we don't need to search further.
-            // One will do.
-            if (!isEmptySq) {
-                break;
+        SudokuBoard.copy(workingCells, workingSolution);
+        return true;
 
-            }
+    }
 
-        }
+    /**
+     * Same as createSolution(workingSolution, baseTime, game), for a flat
+     * board.
+     *
+     * @param workingCells The board we're testing.
+     * @param baseTime The starting time of the game generation.
+     * @param game The place to display the puzzle.
+     * @return True, if workingCells was solved.
+     */
+    public boolean createSolution(byte[] workingCells, long baseTime, SudokuUI game) {
+        long remaining = baseTime + GENERATION_TIMEOUT_MILLIS - System.currentTimeMillis();
+        solutionBudget.reset(Math.max(0, remaining));
 
-        // We assume that this is true unless we find that empty square.  If
-        // it stays true to this point, we're finally at the end of the puzzle.
-        if (isEmptySq) {
-            // Could easily return isEmptySq, but this way makes it
-            // a little easier to read.
+        if (solver.solve(workingCells, solutionBudget)) {
             return true;
 
         }
 
-        // Loop exists to insert a value into the empty square detected earlier,
-        // starting with 1.  Recursion happens here, so the placement of a safe 
-        // number allows the method to re-call itself using the next open
-        // space (assuming this current one is now part of it's solution).
-        for (int testVal = 1; testVal <= SudokuGenerator.MAX_VALUE; testVal++) {
-            // If the testVal violates no rules...
-            if (isSafeBlock(workingSolution, testVal, row, col)
-                    && isSafeColOrRow(workingSolution, testVal, row, col)) {
-                // Set the current index to the test value.
-                workingSolution[row][col] = testVal;
-
-                // Test by passing forward if this, combined with the next 
-                // placement, constitute a safe move.  If so, we can iterate 
-                // forward from here.
-                if (createSolution(workingSolution, baseTime, game)) {
-                    return true;
-
-                } else {
-                    // Reset the tested value to 0 because it don't work.
-                    workingSolution[row][col] = 0;
-
-                }
-
-            }
+        // Greater than 5 seconds, so display a pre-gen puzzle.  The solver
+        // has already unwound, so this happens exactly once per timeout.
+        if (solutionBudget.isExhausted()) {
+            showPreGeneratedPuzzle(game);
 
         }
 
-        // Didn't quite find a solution (or the testVal did not result in a 
-        // proper part of the solution, so let's back up one level of recursion.
         return false;
 
     }
@@ -433,23 +1254,7 @@ public class SudokuGenerator {
      * column are unsafe.
      */
     public boolean isSafeColOrRow(int[][] workingSolution, int val, int row, int col) {
-        // Check columns first.
-        for (int i = 0; i < SudokuGenerator.MAX_VALUE; i++) {
-            if (val == workingSolution[row][i]) {
-                return false;
-            }
-
-        }
-
-        for (int i = 0; i < SudokuGenerator.MAX_VALUE; i++) {
-            if (val == workingSolution[i][col]) {
-                return false;
-
-            }
-
-        }
-
-        return true;
+        return (SudokuConstraints.usedInColOrRow(workingSolution, row, col) & (1 << val)) == 0;
 
     }
 
@@ -467,33 +1272,7 @@ public class SudokuGenerator {
      * if the method runs to completion without detecting a duplicate, true.
      */
     public boolean isSafeBlock(int[][] workingSolution, int val, int row, int col) {
-        // Get the square root of the board's max value.
-        int gridCount = (int) Math.sqrt(SudokuGenerator.MAX_VALUE);
-
-        // The block's row is the current search row divided by the grid's root.  
-        // This generates results on a normal board of 0, 1, and 2.  This is
-        // also true for the block's column, as well.
-        int searchBlockRow = row / gridCount;
-        int searchBlockCol = col / gridCount;
-
-        // Start the iteration.  The tracker will be 3 times the value 
-        // calculated above, which should yield results on a normal board of
-        // 0, 3, and 6 for both inner and outer loops.
-        for (int i = 3 * searchBlockRow; i < searchBlockRow * gridCount + gridCount; i++) {
-            // Inner iteration.
-            for (int j = 3 * searchBlockCol; j < searchBlockCol * gridCount + gridCount; j++) {
-                // If at any time, I encounter the same value I'm testing, let's
-                // return false.
-                if (workingSolution[i][j] == val) {
-                    return false;
-                }
-
-            }
-
-        }
-
-        // We made it here, so we're safe.
-        return true;
+        return (SudokuConstraints.usedInBlock(workingSolution, row, col) & (1 << val)) == 0;
 
     }
 
@@ -511,8 +1290,24 @@ public class SudokuGenerator {
      * being displayed currently.
      */
     public void printArray(int[][] array, String caption) {
+        int width = SudokuConstraints.orderOf(array);
+        StringBuilder separator = new StringBuilder();
+
+        // One " | - - - " per block across, then the closing bar.
+        for (int block = 0; block < width; block++) {
+            separator.append(" | ");
+
+            for (int col = 0; col < width; col++) {
+                separator.append("- ");
+
+            }
+
+        }
+
+        separator.append("| ");
+
         System.out.println(caption);
-        System.out.print(" | - - -  | - - -  | - - - | ");
+        System.out.print(separator);
         System.out.println();
 
         // Iterate the rows.
@@ -522,7 +1317,7 @@ public class SudokuGenerator {
 
                 // If we're at an evenly divisible element, insert | as a 
                 // block separator.
-                if (col % 3 == 0) {
+                if (col % width == 0) {
                     System.out.print(" | ");
 
                 }
@@ -539,9 +1334,9 @@ public class SudokuGenerator {
 
             System.out.print("|");
 
-            if (row % 3 == 2) {
+            if (row % width == width - 1) {
                 System.out.println();
-                System.out.print(" | - - -  | - - -  | - - - | ");
+                System.out.print(separator);
 
             }
 
@@ -553,29 +1348,74 @@ public class SudokuGenerator {
     }
 
     /**
-     * Creates the array representing what the user will actually see. It is
-     * assigns hints-number-of-squares from the puzzleSolution to the
-     * puzzleDisplay, where the "uncovered" squares are determined by random row
-     * and column values.
+     * Creates the array representing what the user will actually see. In
+     * unique-solution mode, the digger starts from the full puzzleSolution and
+     * removes clues in random order, keeping each removal only if the view
+     * still has exactly one solution, until hints clues are left (or further,
+     * if a minimal puzzle is required). Otherwise, it assigns
+     * hints-number-of-squares from the puzzleSolution to the puzzleDisplay,
+     * where the "uncovered" squares are drawn at random without repeats.
      *
      * @param hints The number of squares to show.
      */
     public void createUserViewPuzzle(int hints) {
-        int row = 0;
-        int col = 0;
+        createUserViewPuzzle(hints, countingBudget);
+
+    }
+
+    /**
+     * Same as createUserViewPuzzle(hints), but the dig stops early if the
+     * budget is cancelled, leaving a view with too many clues that the caller
+     * should throw away.
+     *
+     * @param hints The number of squares to show.
+     * @param budget The budget of the execute this view is for.
+     */
+    private void createUserViewPuzzle(int hints, SearchBudget budget) {
+        int total = size * size;
+        int shown = 0;
+
+        if (isUniqueSolutionRequired) {
+            digger.dig(puzzleSolution, puzzleDisplay, hints, isMinimalRequired, budget);
+            return;
+
+        }
 
-        // Begin the iteration and continue until we've repeated uncovered the
-        // requisite number of squares for the user's view.
-        for (int i = 0; i < hints; i++) {
-            // RNG for row and column.
-            row = (int) (Math.random() * 9);
-            col = (int) (Math.random() * 9);
+        // Start from a blank view.
+        SudokuBoard.clear(puzzleDisplay);
 
-            // Assignment.
-            puzzleDisplay[row][col] = puzzleSolution[row][col];
+        for (int i = 0; i < total; i++) {
+            revealOrder[i] = i;
 
         }
 
+        // Uncover squares until we've reached the requisite number for the
+        // user's view.  Each pick swaps a random remaining square to the
+        // front of the list, so no square is picked twice.
+        while (shown < Math.min(hints, total)) {
+            revealNext(shown++);
+
+        }
+
+    }
+
+    /**
+     * Picks a random square from revealOrder[shown] onward, moves it to
+     * position shown, and copies its value from the solution to the view.
+     *
+     * @param shown The number of squares uncovered so far.
+     */
+    private void revealNext(int shown) {
+        int total = size * size;
+        int pick = shown + random.nextInt(total - shown);
+
+        int square = revealOrder[pick];
+        revealOrder[pick] = revealOrder[shown];
+        revealOrder[shown] = square;
+
+        // Assignment.
+        puzzleDisplay[square] = puzzleSolution[square];
+
     }
 
     /**
@@ -586,14 +1426,11 @@ public class SudokuGenerator {
      * detected.
      */
     public boolean checkIfValidPuzzle() {
-        for (int i = 0; i < SudokuGenerator.MAX_VALUE; i++) {
-            for (int j = 0; j < SudokuGenerator.MAX_VALUE; j++) {
-                // If we encounter a zero-value, the puzzle is not valid,
-                // so we have to do it again.
-                if (puzzleSolution[i][j] == 0) {
-                    return false;
-                }
-
+        for (int cell = 0; cell < puzzleSolution.length; cell++) {
+            // If we encounter a zero-value, the puzzle is not valid,
+            // so we have to do it again.
+            if (puzzleSolution[cell] == 0) {
+                return false;
             }
 
         }
@@ -604,56 +1441,84 @@ public class SudokuGenerator {
     }
 
     /**
-     * Presents a puzzle from a random pre-generated file backup. This method is
+     * Presents a puzzle from the pre-generated puzzle bank. This method is
      * only called if the time for generation exceeds a specified threshold.
      * Currently, that threshold is 5 seconds.
+     * <br><br>
+     * NOTE: The bank's grid is put through a random GridTransformer
+     * symmetry first, so it is effectively a new puzzle every time, and no
+     * solving is needed to get it.
      *
      * @param game The place we'll display the puzzle selected.
      */
     public void showPreGeneratedPuzzle(SudokuUI game) {
-        // Get the number of files currently in the pregen folder.  All are named
-        // with a single integer value, beginning with 0, so length will 
-        // equal file count.  Length will also be the new file's name, since the
-        // names will run to Length - 1.
-        String filePath = null;
-
-        // Reset the solution so no holdover artifacts exist.
-        puzzleSolution = new int[SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+        loadPreGeneratedSolution();
 
-        try {
-            // There are 101 files, so we want a random between 0 and 101, 
-            // inclusive.  This calculation is done in cast I change my mind
-            // and put a different amount in the folder or one gets deleted, etc.
-            int count = new File("pregen").list().length;
-            int file = 0 + (int) (Math.random() * count);
+        // Create the user view for the puzzle.
+        this.createUserViewPuzzle(hint);
 
-            // The name of the file, including it's relative pathing and extension.
-            String filename = "pregen/" + String.valueOf(file) + ".ssf";
+    }
 
-            // Create the reader.
-            DataInputStream read = new DataInputStream(new FileInputStream(filename));
+    /**
+     * Same as showPreGeneratedPuzzle(game), but for a puzzle of the
+     * specified difficulty: dug to its clue count and, on a classic board,
+     * checked against its band of techniques.
+     * <br><br>
+     * NOTE: Only FALLBACK_CANDIDATES bank solutions are tried, so the call
+     * stays quick enough for the JavaFX Application Thread; if none lands in
+     * the band, the last is kept.
+     *
+     * @param game The place we'll display the puzzle selected.
+     * @param difficulty The difficulty wanted.
+     */
+    public void showPreGeneratedPuzzle(SudokuUI game, Difficulty difficulty) {
+        for (int i = 0; i < FALLBACK_CANDIDATES; i++) {
+            loadPreGeneratedSolution();
 
-            // Begin nested-iteration of the puzzleSolution array, reading each value
-            // from the selected file into the currently considered position
-            // in puzzleSolution array.
-            for (int row = 0; row < puzzleSolution.length; row++) {
-                for (int col = 0; col < puzzleSolution[row].length; col++) {
-                    // Assignment.  All data in the file is int-data.
-                    puzzleSolution[row][col] = read.readInt();
+            // Create the user view for the puzzle.
+            this.createUserViewPuzzle(difficulty.getHints(order));
 
-                }
+            if (order != SudokuConstraints.BLOCK_SIZE || isInBand(puzzleDisplay, difficulty)) {
+                return;
 
             }
 
-            // Good habit: close the stream reader.
-            read.close();
+        }
 
-            // Debug print.
-            //printArray(puzzleSolution, "TESTING FILE I/O");
-        } catch (IOException ex) { /* No catch code at this time. */ }
+    }
 
-        // Create the user view for the puzzle.
-        this.createUserViewPuzzle(hint);
+    /**
+     * Replaces the puzzle solution with a random one from the pre-generated
+     * bank, relabeled and reshuffled by a fresh random symmetry.
+     *
+     * @return The bank record used, or -1 if there was no bank.
+     */
+    private int loadPreGeneratedSolution() {
+        // Opened and mapped once, then shared; picking a solution is just an
+        // offset into the file.  The bank only holds classic solutions.
+        PuzzleBank bank = (order == SudokuConstraints.BLOCK_SIZE) ? PuzzleBank.getDefault() : null;
+        int record = -1;
+
+        if (bank != null && bank.size() > 0) {
+            record = bank.randomIndex(random);
+            bank.readSolution(record, puzzleSolution);
+
+        } else {
+            // No bank to hand.  An empty board always has a solution, and
+            // Dancing Links finds one in microseconds.
+            clearSolution();
+            countingSolver.solve(puzzleSolution, countingBudget);
+
+        }
+
+        // One of about 1.2 trillion equivalent grids, on a classic board.
+        transformer.randomize();
+        transformer.transform(puzzleSolution, puzzleSolution);
+
+        // Debug print.
+        //printArray(puzzleSolution, "TESTING FILE I/O");
+
+        return record;
 
     }
 
@@ -709,7 +1574,7 @@ public class SudokuGenerator {
                 String fileName = "pregen/" + String.valueOf(count) + ".ssf";
 
                 // Reset puzzleSolution before we get started.
-                puzzleSolution = new int[SudokuGenerator.MAX_VALUE][SudokuGenerator.MAX_VALUE];
+                clearSolution();
 
                 // Generate a puzzle solution.  This method will only be used 
                 // once, but it will potentially break if a puzzle without a 
@@ -719,17 +1584,14 @@ public class SudokuGenerator {
                 // Using the seeded array, we'll generate the solution via brute-
                 // force backward generation.
                 long baseTime = System.currentTimeMillis();
-                createSolution(getSolution(), baseTime, game);
+                createSolution(puzzleSolution, baseTime, game);
 
                 // Create the writer.
                 DataOutputStream write = new DataOutputStream(new FileOutputStream(fileName));
 
                 // Write the puzzle to file, one character at a time.
-                for (int row = 0; row < getSolution().length; row++) {
-                    for (int col = 0; col < getSolution()[row].length; col++) {
-                        write.writeInt(getSolution()[row][col]);
-
-                    }
+                for (int cell = 0; cell < puzzleSolution.length; cell++) {
+                    write.writeInt(puzzleSolution[cell]);
 
                 }
 
@@ -0,0 +1,96 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: A finished puzzle: the complete solution plus the view shown to
+ *          the user.  Unlike the arrays inside SudokuGenerator, which are
+ *          reused for the next puzzle, these are private copies, so a puzzle
+ *          can be handed between threads or kept for later.
+ */
+package sdg;
+
+/**
+ * An immutable solution and user-view pair, kept as flat boards.
+ */
+public class SudokuPuzzle {
+
+    private final byte[] solution;
+    private final byte[] display;
+
+    /**
+     * Creates the puzzle from copies of the arrays passed.
+     *
+     * @param solution The complete solution.
+     * @param display The user's view; zeroes are hidden squares.
+     */
+    public SudokuPuzzle(int[][] solution, int[][] display) {
+        this.solution = SudokuBoard.toCells(solution);
+        this.display = SudokuBoard.toCells(display);
+
+    }
+
+    /**
+     * Creates the puzzle from copies of the flat boards passed.
+     *
+     * @param solution The complete solution.
+     * @param display The user's view; zeroes are hidden squares.
+     */
+    public SudokuPuzzle(byte[] solution, byte[] display) {
+        this.solution = solution.clone();
+        this.display = display.clone();
+
+    }
+
+    /**
+     * Accessor for the solution.
+     *
+     * @return A copy of the solution array.
+     */
+    public int[][] getSolution() {
+        return SudokuBoard.toGrid(this.solution);
+
+    }
+
+    /**
+     * Accessor for the user's view.
+     *
+     * @return A copy of the user's view array.
+     */
+    public int[][] getDisplay() {
+        return SudokuBoard.toGrid(this.display);
+
+    }
+
+    /**
+     * Accessor for the width of a block.
+     *
+     * @return The order of the board.
+     */
+    public int getOrder() {
+        return SudokuBoard.orderOf(this.solution);
+
+    }
+
+    /**
+     * Counts the squares uncovered in the user's view.
+     *
+     * @return The number of clues.
+     */
+    public int getClueCount() {
+        return SudokuBoard.countFilled(display);
+
+    }
+
+    /**
+     * Copies both boards into flat boards the caller owns, without
+     * allocating.
+     *
+     * @param solution Receives the solution.
+     * @param display Receives the user's view.
+     */
+    void copyTo(byte[] solution, byte[] display) {
+        System.arraycopy(this.solution, 0, solution, 0, solution.length);
+        System.arraycopy(this.display, 0, display, 0, display.length);
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Programmer: Aaron Myers
+ * Date: 2026/10/16
+ * Purpose: The common face of the solving engines, so the generator can be
+ *          told which one to use without caring how it works.
+ */
+package sdg;
+
+/**
+ * A Sudoku solving engine. Implementations are free to keep scratch state
+ * between calls, so a single instance must not be shared between threads.
+ * Every search unwinds cleanly when its SearchBudget runs out, leaving the
+ * board as it was passed in.
+ * <br><br>
+ * NOTE: The flat (byte[]) forms are the ones the engine runs on. The int[][]
+ * forms copy through a scratch board the solver keeps, so they allocate
+ * nothing either, but they do cost two extra passes over the board.
+ */
+public interface SudokuSolver {
+
+    /**
+     * Fills every empty (zero) square of board with a value that completes a
+     * valid Sudoku. The board is left untouched if no solution is found.
+     *
+     * @param board The array to complete, modified in place.
+     * @param budget Decides when the solver should give up; it is ticked once
+     * per search node.
+     * @return True, if the board was solved; false if it has no solution or
+     * the budget ran out first (budget.isStopped() tells which).
+     */
+    boolean solve(int[][] board, SearchBudget budget);
+
+    /**
+     * Same as solve(board, budget), for a flat board.
+     *
+     * @param cells The board to complete, modified in place.
+     * @param budget Decides when the solver should give up.
+     * @return True, if the board was solved.
+     */
+    boolean solve(byte[] cells, SearchBudget budget);
+
+    /**
+     * Counts the solutions of board, stopping as soon as limit of them have
+     * been found. Asking for a limit of 2 is the cheap way to find out whether
+     * a puzzle has exactly one solution. The board is not modified.
+     *
+     * @param board The puzzle to examine; zeroes are empty squares.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when the solver should give up.
+     * @return The number of solutions found, never more than limit. If the
+     * budget ran out first, this is only a lower bound.
+     */
+    int countSolutions(int[][] board, int limit, SearchBudget budget);
+
+    /**
+     * Same as countSolutions(board, limit, budget), for a flat board.
+     *
+     * @param cells The puzzle to examine; it is not modified.
+     * @param limit The count at which to stop searching.
+     * @param budget Decides when the solver should give up.
+     * @return The number of solutions found, never more than limit.
+     */
+    int countSolutions(byte[] cells, int limit, SearchBudget budget);
+
+}
@@ -2,7 +2,7 @@
  * Programmer: Aaron Myers
  * Date: 2018/12/27
  * Purpose: Creates an extension class of Label, which contains an instance
- *          of an AnimationTimer.  This is used to display elapsed time on the 
+ *          of an AnimationTimer.  This is used to display elapsed time on the
  *          UI.
  */
 package sui;
@@ -14,15 +14,16 @@ import javafx.scene.paint.Color;
 /**
  * This class represents an extension of Label. It's intended to make it easier
  * to specialize the Elapsed Time function on SudokuUI.
+ * <br><br>
+ * NOTE: The clock can be paused and resumed, and the time on it read as a
+ * number with getElapsedMillis, so a finished game can record it.
  */
 public class SudokuAnimationLabel extends Label {
 
-    private long startTime;
-    private long displayTime;
     private LabelTimer timer;
 
     // A variable to store the number of millis at which point
-    // the Oprah Bus is coming.  Intended to be equal to the best time - 
+    // the Oprah Bus is coming.  Intended to be equal to the best time -
     // approximately 5 minutes.
     private long warningTime;
 
@@ -32,19 +33,16 @@ public class SudokuAnimationLabel extends Label {
      * elected not to implement the personal-best functionality at this time.
      */
     public SudokuAnimationLabel() {
-        // Capture the time the object was created.
-        startTime = System.currentTimeMillis();
-
         // Sets Oprah Bus time, default when not invoked via parametered
         // CTOR will be 10 minutes for testing.
         warningTime = 10 * 60 * 1000;
 
         // Creates the LabelTimer object with references to everything done
         // so far.
-        timer = new LabelTimer(startTime, warningTime, this);
+        timer = new LabelTimer(warningTime, this);
 
         // Start the timer.
-        timer.start();
+        timer.restart();
 
     }
 
@@ -56,19 +54,54 @@ public class SudokuAnimationLabel extends Label {
      * @param warningTime The best time recorded by the user on puzzles so far.
      */
     public SudokuAnimationLabel(long warningTime) {
-        // Capture the time the object was created.
-        startTime = System.currentTimeMillis();
-
         // Set warning time equal to 5 minutes less than
         // the passed warning time.
         this.warningTime = warningTime - 30_000;
 
         // Creates the LabelTimer object with references to everything done
         // so far.
-        timer = new LabelTimer(startTime, warningTime, this);
+        timer = new LabelTimer(warningTime, this);
 
         // Start the timer.
-        timer.start();
+        timer.restart();
+
+    }
+
+    /**
+     * Starts counting again from zero, for a new puzzle.
+     */
+    public void restart() {
+        setTextFill(Color.BLACK);
+        timer.restart();
+
+    }
+
+    /**
+     * Stops the clock without losing the time on it, e.g. while the window is
+     * minimized.
+     */
+    public void pause() {
+        timer.pause();
+
+    }
+
+    /**
+     * Starts a paused clock again from where it stopped. A clock stopped by a
+     * won game stays stopped until restart.
+     */
+    public void resume() {
+        timer.resume();
+
+    }
+
+    /**
+     * Accessor for the time on the clock.
+     *
+     * @return The milliseconds counted since the last restart, not counting
+     * time spent paused.
+     */
+    public long getElapsedMillis() {
+        return timer.getElapsedNanos() / 1_000_000;
 
     }
 
@@ -78,7 +111,7 @@ public class SudokuAnimationLabel extends Label {
      */
     public void doMessageGameWon() {
         // The user won, so let's stop the clock.
-        timer.stop();
+        timer.finish();
 
     }
 
@@ -88,49 +121,151 @@ public class SudokuAnimationLabel extends Label {
  * Private class that exists to handle the timer functionality and to create a
  * specialized display string based on current time elapsed. An instance of this
  * class is contained in the SudokuAnimationLabel class.
+ * <br><br>
+ * NOTE: handle runs on every pulse, around 60 times a second, but the display
+ * only changes once a second. So the time comes from the pulse's own
+ * timestamp, and the label is only touched when the whole seconds shown have
+ * changed; the text is built in a StringBuilder kept for the purpose.
  */
 class LabelTimer extends AnimationTimer {
 
-    private long startTime;
+    private static final String PREFIX = "Elapsed Time: ";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
     private long warningTime;
     private SudokuAnimationLabel labelRef;
 
+    // The pulse time the clock counts from, or -1 until the first pulse after
+    // a restart or resume has set it; and the time counted before the last
+    // pause.
+    private long startNanos;
+    private long pausedNanos;
+
+    private boolean isRunning;
+    private boolean isFinished;
+
+    // The seconds on display, and whether the warning color is showing.
+    private long shownSeconds;
+    private boolean isWarningShown;
+
+    private final StringBuilder text = new StringBuilder(PREFIX.length() + 8);
+
     /**
      * Parametered CTOR. Sets all the items needed to work the purpose of this
      * class.
      *
-     * @param startTime The creation time of the calling object.
      * @param warningTime The time set as Oprah Bus for the calling object.
      * @param labelRef The calling object reference, itself, since we change it
      * inside this class.
      */
-    public LabelTimer(long startTime, long warningTime, SudokuAnimationLabel labelRef) {
-        this.startTime = startTime;
+    public LabelTimer(long warningTime, SudokuAnimationLabel labelRef) {
         this.warningTime = warningTime;
         this.labelRef = labelRef;
 
     }
 
+    /**
+     * Sets the clock to zero and starts it.
+     */
+    public void restart() {
+        pausedNanos = 0;
+        startNanos = -1;
+        shownSeconds = -1;
+        isWarningShown = false;
+        isFinished = false;
+        isRunning = true;
+        start();
+
+    }
+
+    /**
+     * Stops the clock, keeping the time on it.
+     */
+    public void pause() {
+        if (isRunning) {
+            pausedNanos = getElapsedNanos();
+            isRunning = false;
+            stop();
+
+        }
+
+    }
+
+    /**
+     * Starts a paused clock again, unless the game is over.
+     */
+    public void resume() {
+        if (!isRunning && !isFinished) {
+            startNanos = -1;
+            isRunning = true;
+            start();
+
+        }
+
+    }
+
+    /**
+     * Stops the clock for good (until restart), keeping the time on it.
+     */
+    public void finish() {
+        pause();
+        isFinished = true;
+
+    }
+
+    /**
+     * Accessor for the time on the clock.
+     *
+     * @return The nanoseconds counted, not counting time spent paused.
+     */
+    public long getElapsedNanos() {
+        // The pulse timestamps are System.nanoTime() values, so between pulses
+        // the clock can be read straight from it.
+        if (!isRunning || startNanos < 0) {
+            return pausedNanos;
+
+        }
+
+        return System.nanoTime() - startNanos;
+
+    }
+
     /**
      * Check the current time to determine if we've gone beyond warning time and
      * display the current elapsed time. If we're passed warningTime, color the
      * text of the caller red.
      *
-     * @param now
+     * @param now The timestamp of the pulse, in nanoseconds.
      */
     @Override
     public void handle(long now) {
-        long elapsedTime = System.currentTimeMillis() - startTime;
+        // The first pulse after a (re)start; count on from the time we had.
+        if (startNanos < 0) {
+            startNanos = now - pausedNanos;
+
+        }
+
+        long elapsedNanos = now - startNanos;
+        long seconds = elapsedNanos / NANOS_PER_SECOND;
+
+        // Nothing on screen would change.
+        if (seconds == shownSeconds) {
+            return;
+
+        }
+
+        shownSeconds = seconds;
 
         // If the stopwatch indicates we're passed Oprah Bus time,
-        if (elapsedTime >= warningTime) {
+        if (!isWarningShown && elapsedNanos / 1_000_000 >= warningTime) {
             // Set color to dark red!!!
             labelRef.setTextFill(Color.web("#8B0000"));
+            isWarningShown = true;
 
         }
 
         // Display the current time on the control.
-        labelRef.setText(setAndFormatText(elapsedTime));
+        labelRef.setText(setAndFormatText(seconds * 1000));
 
     }
 
@@ -150,14 +285,27 @@ class LabelTimer extends AnimationTimer {
         int minutes = (int) ((elapsedTime % (1000 * 60 * 60)) / (1000 * 60));
         int hours = (int) ((elapsedTime % (1000 * 60 * 60 * 24)) / (1000 * 60 * 60));
 
-        // This is what gets displayed to the user.
-        String output = "Elapsed Time: "
-                + ((hours > 9) ? hours : "0" + hours) + ":"
-                + ((minutes > 9) ? minutes : "0" + minutes) + ":"
-                + ((seconds > 9) ? seconds : "0" + seconds);
+        // This is what gets displayed to the user, built over the last one.
+        text.setLength(0);
+        text.append(PREFIX);
+        appendTwoDigits(hours).append(':');
+        appendTwoDigits(minutes).append(':');
+        appendTwoDigits(seconds);
 
-        // Return.
-        return output;
+        // Return.  The label needs a String of its own, but only once a
+        // second.
+        return text.toString();
+
+    }
+
+    /**
+     * Appends a value below 100 as two digits, with a leading zero.
+     *
+     * @param value The value to write.
+     * @return The buffer.
+     */
+    private StringBuilder appendTwoDigits(int value) {
+        return text.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
 
     }
 
@@ -2,30 +2,53 @@
  * Programmer: Aaron Myers
  * Date: 2018/12/27
  * Purpose: An incomplete class which exists to serve unimplemented functionality
- *          to the base application.  It is intended to help establish different
- *          protocols for puzzle difficulty, but as yet remains wholly 
- *          unintegrated.
+ *          to the base application.  It establishes the puzzle difficulties:
+ *          how many clues each one shows, and which band of solving
+ *          techniques its puzzles have to fall in.
  */
 package sui;
 
+import sdg.LogicalGrader.Technique;
+import sdg.SudokuConstraints;
+
 /**
  * This class is intended to house some user-specified options, and is here
  * really only as a placeholder, in case I come back around to adding to the
  * existing application.
  * <br><br>
- * NOTE: While this is not currently deprecated, it's not in use.
+ * NOTE: Only the difficulty, the board order and dead-end flagging are in use
+ * so far; the generator and the puzzle pool both take a difficulty, the UI
+ * builds its board for the order, and it checks each entry for a dead end
+ * only when asked to.
  */
 public class SudokuOptions {
 
+    /**
+     * A difficulty is a clue count plus a band on the hardest technique
+     * LogicalGrader needs to solve the puzzle. A null bound is open: EASY has
+     * no floor, and HARD has no ceiling, so it also takes puzzles that logic
+     * alone can't finish.
+     * <br><br>
+     * NOTE: The bands were chosen for classic boards. On the other orders a
+     * difficulty is only a share of the squares shown: 4x4 puzzles never
+     * need more than naked singles, and 16x16 and 25x25 ones get stuck well
+     * before they are dug out.
+     */
     public enum Difficulty {
-        EASY(20),
-        NORMAL(16),
-        HARD(12);
+        EASY(20, 54, null, Technique.HIDDEN_SINGLE),
+        NORMAL(16, 45, Technique.LOCKED_CANDIDATES, Technique.HIDDEN_TRIPLE),
+        HARD(12, 0, Technique.X_WING, null);
 
         private final int diffCode;
+        private final int cluePercent;
+        private final Technique easiestTechnique;
+        private final Technique hardestTechnique;
 
-        private Difficulty(int diffCode) {
+        private Difficulty(int diffCode, int cluePercent, Technique easiestTechnique, Technique hardestTechnique) {
             this.diffCode = diffCode;
+            this.cluePercent = cluePercent;
+            this.easiestTechnique = easiestTechnique;
+            this.hardestTechnique = hardestTechnique;
 
         }
 
@@ -34,13 +57,58 @@ public class SudokuOptions {
 
         }
 
+        /**
+         * The clue count for a board of any order: diffCode on a classic
+         * board, and a share of the squares on the others. A share of zero
+         * digs as far as uniqueness allows.
+         *
+         * @param order The width of a block.
+         * @return The number of clues to dig down to.
+         */
+        public int getHints(int order) {
+            if (order == SudokuConstraints.BLOCK_SIZE) {
+                return this.diffCode;
+
+            }
+
+            return order * order * order * order * cluePercent / 100;
+
+        }
+
+        /**
+         * Accessor for the floor of the band: a puzzle has to need at least
+         * this technique.
+         *
+         * @return The technique, or null for no floor.
+         */
+        public Technique getEasiestTechnique() {
+            return this.easiestTechnique;
+
+        }
+
+        /**
+         * Accessor for the ceiling of the band: a puzzle has to be solvable
+         * with nothing harder than this technique.
+         *
+         * @return The technique, or null for no ceiling.
+         */
+        public Technique getHardestTechnique() {
+            return this.hardestTechnique;
+
+        }
+
     }
     private Difficulty level;
     private int seed;
+    private int order;
+
+    // Whether an entry that leaves the puzzle unsolvable is pointed out.
+    private boolean isDeadEndFlagged;
 
     public SudokuOptions() {
         level = Difficulty.NORMAL;
         this.seed = 16;
+        this.order = SudokuConstraints.BLOCK_SIZE;
 
     }
 
@@ -60,4 +128,50 @@ public class SudokuOptions {
         return this.seed;
     }
 
+    /**
+     * Accessor for the width of a block: 2, 3, 4 or 5 for boards of 4x4, 9x9,
+     * 16x16 or 25x25.
+     *
+     * @return The board order.
+     */
+    public int getOrder() {
+        return this.order;
+    }
+
+    /**
+     * Selects the board order for the games that follow.
+     *
+     * @param order The width of a block.
+     */
+    public void setOrder(int order) {
+        this.order = SudokuConstraints.checkOrder(order);
+    }
+
+    /**
+     * Accessor for the number of rows, columns and digits of the board.
+     *
+     * @return The order squared.
+     */
+    public int getSize() {
+        return this.order * this.order;
+    }
+
+    /**
+     * Reports whether entries that leave the puzzle unsolvable are flagged.
+     *
+     * @return True, if dead ends are flagged.
+     */
+    public boolean isDeadEndFlagged() {
+        return this.isDeadEndFlagged;
+    }
+
+    /**
+     * Turns the flagging of dead ends on or off.
+     *
+     * @param isDeadEndFlagged True to flag them.
+     */
+    public void setDeadEndFlagged(boolean isDeadEndFlagged) {
+        this.isDeadEndFlagged = isDeadEndFlagged;
+    }
+
 }
@@ -7,10 +7,28 @@
  */
 package sui;
 
+import javafx.css.PseudoClass;
 import javafx.scene.control.TextField;
 
+/**
+ * A square of the board. Its border is worked out once, when it is placed,
+ * and kept as a ready-made inline style; whether its text is red or black is
+ * a pseudo-class the stylesheet colors, so an edit never builds or parses a
+ * style string.
+ * <br><br>
+ * NOTE: The colors live in sudoku.css as the sudoku-cell style class and its
+ * :conflict and :dead-end states.
+ */
 public class SudokuTextField extends TextField {
 
+    // The style class every square carries, and the state of one that breaks
+    // a rule (or holds something that isn't a digit).
+    public static final String STYLE_CLASS = "sudoku-cell";
+    private static final PseudoClass CONFLICT = PseudoClass.getPseudoClass("conflict");
+
+    // The state of the square whose entry left the puzzle unsolvable.
+    private static final PseudoClass DEAD_END = PseudoClass.getPseudoClass("dead-end");
+
     private boolean hasLeftBorder;
     private boolean hasRightBorder;
     private boolean hasTopBorder;
@@ -18,8 +36,16 @@ public class SudokuTextField extends TextField {
 
     private int borderThickness;
 
+    // The inline style for the borders above, built when they are set.
+    private String borderFormat;
+
+    private boolean isConflicted;
+    private boolean isDeadEnd;
+
     public SudokuTextField() {
         super();
+        getStyleClass().add(STYLE_CLASS);
+        updateBorderFormat();
 
     }
 
@@ -63,6 +89,7 @@ public class SudokuTextField extends TextField {
         this.hasLeftBorder = (left > 0) ? true : false;
 
         this.borderThickness = borderThickness;
+        updateBorderFormat();
 
     }
 
@@ -86,18 +113,82 @@ public class SudokuTextField extends TextField {
         this.hasLeftBorder = left;
 
         this.borderThickness = borderThickness;
+        updateBorderFormat();
 
     }
 
+    /**
+     * Accessor for the inline style that paints the borders.
+     *
+     * @return The style, the same String every call until the borders change.
+     */
     public String getBorderFormat() {
-        String local = "-fx-border-style: solid outside; -fx-border-width: "
+        return this.borderFormat;
+
+    }
+
+    /**
+     * Accessor for the conflict state.
+     *
+     * @return True, if the text is shown in red.
+     */
+    public boolean isConflicted() {
+        return this.isConflicted;
+
+    }
+
+    /**
+     * Shows the text in red or black by switching the :conflict
+     * pseudo-class. Setting the state the square is already in does nothing.
+     *
+     * @param isConflicted True for red, false for black.
+     */
+    public void setConflicted(boolean isConflicted) {
+        if (this.isConflicted != isConflicted) {
+            this.isConflicted = isConflicted;
+            pseudoClassStateChanged(CONFLICT, isConflicted);
+
+        }
+
+    }
+
+    /**
+     * Accessor for the dead-end state.
+     *
+     * @return True, if the square is marked as the one that made the puzzle
+     * unsolvable.
+     */
+    public boolean isDeadEnd() {
+        return this.isDeadEnd;
+
+    }
+
+    /**
+     * Marks or unmarks the square as a dead end by switching the :dead-end
+     * pseudo-class.
+     *
+     * @param isDeadEnd True to mark the square.
+     */
+    public void setDeadEnd(boolean isDeadEnd) {
+        if (this.isDeadEnd != isDeadEnd) {
+            this.isDeadEnd = isDeadEnd;
+            pseudoClassStateChanged(DEAD_END, isDeadEnd);
+
+        }
+
+    }
+
+    /**
+     * Builds the inline style for the current borders, once per change of
+     * the borders rather than once per event.
+     */
+    private void updateBorderFormat() {
+        borderFormat = "-fx-border-style: solid outside; -fx-border-width: "
                 + ((hasTopBorder) ? borderThickness : 0) + " "
                 + ((hasRightBorder) ? borderThickness : 0) + " "
                 + ((hasBottomBorder) ? borderThickness : 0) + " "
                 + ((hasLeftBorder) ? borderThickness : 0) + " ";
 
-        return local;
-
     }
 
 }
@@ -6,11 +6,13 @@
  *          to make the generation result...useful.  This application does
  *          serve as a very simple version of the Sudoku game.
  *
- *          The application features 81 textfields into which the user must
+ *          The application features 81 textfields (16, 256 or 625 on the
+ *          other board sizes) into which the user must
  *          place correct solution-values.  In the most basic form, the UI will 
  *          show any placement that violates a Sudoku rule (no duplicate values
  *          in the same row, the same column, or the same 3x3 grid) as a red 
- *          text to alert the user that s/he has messed up.  This feature does
+ *          text, along with every square it clashes with, to alert the user
+ *          that s/he has messed up.  This feature does
  *          not ensure that the value is the correct value, however.  That
  *          cannot be determiend for certain until the 'Commit' button is 
  *          pressed.
@@ -27,8 +29,11 @@
  */
 package sui;
 
+import java.util.Random;
 import java.util.Timer;
+import java.util.concurrent.CompletableFuture;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.value.ObservableValue;
 import javafx.event.EventType;
 import javafx.geometry.Insets;
@@ -47,8 +52,10 @@ import javafx.scene.layout.VBox;
 // Control imports
 import javafx.scene.control.TextField;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.animation.AnimationTimer;
 import javafx.event.EventHandler;
@@ -61,13 +68,34 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 
 // Rcytsnroud
+import sdg.PlayerBoard;
+import sdg.PuzzlePool;
+import sdg.SudokuConstraints;
 import sdg.SudokuGenerator;
+import sdg.SudokuPuzzle;
 
 /**
  * This is the basic UI for a Sudoku game.
  */
 public class SudokuUI extends Application {
 
+    // Ready puzzles kept per difficulty, how many background threads make
+    // them, and how low a queue gets before it is topped up.
+    private static final int POOL_CAPACITY = 4;
+    private static final int POOL_THREADS = 1;
+    private static final int POOL_LOW_WATER = 1;
+
+    // The width the board is fitted into, and the largest square allowed;
+    // a classic board gets exactly the largest.
+    private static final int BOARD_PIXELS = 450;
+    private static final int MAX_CELL_PIXELS = 50;
+
+    // The choices of the board-size box, by order.
+    private static final String[] BOARD_SIZE_NAMES = {"4 x 4", "9 x 9", "16 x 16", "25 x 25"};
+
+    // The stylesheet that colors the squares, next to this class.
+    private static final String CELL_STYLESHEET = "sudoku.css";
+
     // The primary scene for the app.
     private Scene scene;
 
@@ -89,6 +117,37 @@ public class SudokuUI extends Application {
     // Long-term plan to set options.
     private SudokuOptions sudokuOptions;
 
+    // Puzzles generated in the background, ready for the next game.
+    private PuzzlePool puzzlePool;
+
+    // The puzzle being generated for the board right now, if the pool had
+    // none ready.  Only touched on the JavaFX Application Thread.
+    private CompletableFuture<SudokuPuzzle> pendingPuzzle;
+
+    // Counts up while the user works the puzzle.
+    private SudokuAnimationLabel elapsedTimer;
+
+    // The user's working board: the clues plus every digit entered, clashing
+    // or not, with its conflicts and its distance from the solution.  The
+    // generator only hands out copies, so the UI keeps its own.
+    private PlayerBoard playerBoard;
+
+    // The square flagged as a dead end, or -1 if none is.
+    private int deadEndCell = -1;
+
+    // Set while clearBoard empties the squares, so that leaveFocus leaves
+    // the board being thrown away alone.
+    private boolean isClearingBoard;
+
+    // The width of a block and of the board on screen, the size of each
+    // square, and the fonts and block border that go with that size.
+    private int boardOrder;
+    private int boardSize;
+    private int cellPixels;
+    private int blockBorder;
+    private Font entryFont;
+    private Font clueFont;
+
     /**
      * Starts the application.
      *
@@ -97,21 +156,44 @@ public class SudokuUI extends Application {
     @Override
     public void start(Stage primaryStage) {
         sudokuOptions = new SudokuOptions();
-        sudokuGame = new SudokuGenerator(16, 16);
+        sudokuGame = new SudokuGenerator(16, 16, sudokuOptions.getOrder(), new Random());
+        puzzlePool = new PuzzlePool(POOL_CAPACITY, POOL_THREADS, POOL_LOW_WATER);
 
         mainFrame = new FlowPane();
         scene = new Scene(mainFrame, 600, 600);
+        scene.getStylesheets().add(SudokuUI.class.getResource(CELL_STYLESHEET).toExternalForm());
 
         initializePuzzlePane();
         initializeStopwatchPane();
         initializeFuctionalButtons();
 
-        showPuzzleToUser();
-
         primaryStage.setTitle(("Sudoku: Just 'Cause"));
         primaryStage.setScene(scene);
         primaryStage.show();
 
+        // The clock doesn't run while the window is minimized.
+        primaryStage.iconifiedProperty().addListener((observable, wasIconified, isIconified) -> {
+            if (isIconified) {
+                elapsedTimer.pause();
+
+            } else {
+                elapsedTimer.resume();
+
+            }
+        });
+
+        // The window is up; the puzzle follows as soon as it's ready.
+        startNewGame();
+
+    }
+
+    /**
+     * Stops the background puzzle generation when the application closes.
+     */
+    @Override
+    public void stop() {
+        puzzlePool.shutdown();
+
     }
 
     /**
@@ -120,8 +202,24 @@ public class SudokuUI extends Application {
      * each element of the array, so 81 items in total by default. Borders are
      * also set here based on the physical location of the SudokuTextField, so
      * that the entire collection resembles an actual Sudoku puzzle.
+     * <br><br>
+     * NOTE: Called again whenever the board size changes; the new pane takes
+     * the old one's place in the frame.
      */
     private void initializePuzzlePane() {
+        GridPane oldPane = puzzlePane;
+
+        // Fit the squares of a bigger board into the same space.
+        boardOrder = sudokuOptions.getOrder();
+        boardSize = sudokuOptions.getSize();
+        cellPixels = Math.min(MAX_CELL_PIXELS, BOARD_PIXELS / boardSize);
+        blockBorder = Math.max(2, cellPixels * 8 / MAX_CELL_PIXELS);
+        entryFont = Font.font(STYLESHEET_MODENA, FontWeight.NORMAL, Math.min(16, cellPixels * 0.55));
+        clueFont = Font.font(STYLESHEET_MODENA, FontWeight.BOLD, Math.min(20, cellPixels * 0.65));
+
+        playerBoard = new PlayerBoard(boardOrder);
+        deadEndCell = -1;
+
         puzzlePane = new GridPane();
         puzzlePane.setHgap(1);
         puzzlePane.setVgap(1);
@@ -129,25 +227,33 @@ public class SudokuUI extends Application {
 
         // Create a SudokuTextField for every element of the puzzleSolution
         // array.
-        for (int i = 0; i < SudokuGenerator.MAX_VALUE; i++) {
-            for (int j = 0; j < SudokuGenerator.MAX_VALUE; j++) {
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
                 SudokuTextField textFieldObj = new SudokuTextField();
-                textFieldObj.setPrefHeight(50);
-                textFieldObj.setPrefWidth(50);
+                textFieldObj.setPrefHeight(cellPixels);
+                textFieldObj.setPrefWidth(cellPixels);
                 textFieldObj.setAlignment(Pos.CENTER);
-                textFieldObj.setFont(Font.font(STYLESHEET_MODENA, FontWeight.NORMAL, 16));
+                textFieldObj.setFont(entryFont);
                 textFieldObj.setEditable(true);
 
+                // Small squares can't spare the room around the digits.
+                if (cellPixels < MAX_CELL_PIXELS) {
+                    textFieldObj.setPadding(Insets.EMPTY);
+
+                }
+
                 // Effectively finalizing variables for
                 // the listener.
                 int row = i;
                 int col = j;
-                int index = row * 9 + col;
+                int index = row * boardSize + col;
 
                 setTextBoxEventHandlers(textFieldObj, index, row, col);
                 SetBorderLocations(textFieldObj, row, col);
                 
-                // Set the format to what we've already done.
+                // Set the format to what we've already done.  This is the only
+                // inline style the square ever gets; colors come from the
+                // stylesheet.
                 textFieldObj.setStyle(textFieldObj.getBorderFormat());
 
                 // Lastly, add the textField to its pane.
@@ -157,8 +263,15 @@ public class SudokuUI extends Application {
 
         }
 
-        // Add puzzlePane to the frame...
-        mainFrame.getChildren().add(puzzlePane);
+        // Add puzzlePane to the frame, in the old one's place if there was
+        // one...
+        if (oldPane == null) {
+            mainFrame.getChildren().add(puzzlePane);
+
+        } else {
+            mainFrame.getChildren().set(mainFrame.getChildren().indexOf(oldPane), puzzlePane);
+
+        }
 
     }
 
@@ -171,7 +284,7 @@ public class SudokuUI extends Application {
         timePane = new Pane();
 
         // Create the timer label.
-        SudokuAnimationLabel elapsedTimer = new SudokuAnimationLabel();
+        elapsedTimer = new SudokuAnimationLabel();
 
         // Alignment and font settings.
         elapsedTimer.setAlignment(Pos.CENTER);
@@ -209,22 +322,184 @@ public class SudokuUI extends Application {
             onSurrenderClickEvent();
         });
 
+        Button bNewGame = new Button();
+        bNewGame.setText("New Game Button");
+        bNewGame.setOnAction(newGameClickEvent -> {
+            startNewGame();
+        });
+
+        // Changing the board size starts a new game on the new board.
+        ComboBox<String> boardSizeBox = new ComboBox<String>();
+        boardSizeBox.getItems().addAll(BOARD_SIZE_NAMES);
+        boardSizeBox.getSelectionModel().select(sudokuOptions.getOrder() - SudokuConstraints.MIN_ORDER);
+        boardSizeBox.setOnAction(boardSizeEvent -> {
+            onBoardSizeChangeEvent(SudokuConstraints.MIN_ORDER + boardSizeBox.getSelectionModel().getSelectedIndex());
+        });
+
+        // Point out entries that leave the puzzle without a solution.
+        CheckBox deadEndBox = new CheckBox("Flag Dead Ends");
+        deadEndBox.setSelected(sudokuOptions.isDeadEndFlagged());
+        deadEndBox.setOnAction(deadEndEvent -> {
+            sudokuOptions.setDeadEndFlagged(deadEndBox.isSelected());
+            clearDeadEnd();
+        });
+
         buttonPane.getChildren().add(bCommit);
         buttonPane.getChildren().add(bSurrender);
+        buttonPane.getChildren().add(bNewGame);
+        buttonPane.getChildren().add(boardSizeBox);
+        buttonPane.getChildren().add(deadEndBox);
 
         mainFrame.getChildren().add(buttonPane);
 
     }
 
     /**
-     * This is the hub for initial puzzle display. It calls to the generator to
-     * make a puzzle, seeding it with sixteen random numbers (by default) at
-     * sixteen random locations in the solution array, and uses a backtracking
-     * method to derive the solution. Once complete, it displays the values at
-     * sixteen random locations (by default) on the puzzle-solution to the user.
+     * Rebuilds the board for another order and starts a new game on it.
+     *
+     * @param order The width of a block on the new board.
+     */
+    private void onBoardSizeChangeEvent(int order) {
+        if (order == boardOrder) {
+            return;
+
+        }
+
+        sudokuOptions.setOrder(order);
+        sudokuGame = new SudokuGenerator(16, 16, order, new Random());
+
+        initializePuzzlePane();
+        startNewGame();
+
+    }
+
+    /**
+     * Clears the board and gets a new puzzle for it. A ready puzzle from the
+     * pool goes straight onto the board. Otherwise one is generated on a
+     * worker thread while the board waits, disabled, and is handed back to
+     * this thread through Platform.runLater. A request still running from an
+     * earlier click is cancelled first, so only the newest puzzle is shown.
+     * <br><br>
+     * NOTE: If generation fails, the user is told why and is given a puzzle
+     * from the pre-generated bank instead, so the board never stays disabled.
+     */
+    public void startNewGame() {
+        if (pendingPuzzle != null) {
+            pendingPuzzle.cancel(false);
+            pendingPuzzle = null;
+
+        }
+
+        clearBoard();
+
+        // Take a ready puzzle if the pool has one.  The pool only keeps
+        // classic boards.
+        SudokuPuzzle ready = (boardOrder == SudokuConstraints.BLOCK_SIZE)
+                ? puzzlePool.poll(sudokuOptions.getDifficulty()) : null;
+
+        if (ready != null) {
+            deliverPuzzle(ready);
+            return;
+
+        }
+
+        // None ready (most likely the very first game), so generate one off
+        // this thread.  A fresh generator keeps the worker away from the one
+        // the board is reading.
+        puzzlePane.setDisable(true);
+
+        final CompletableFuture<SudokuPuzzle> request = new SudokuGenerator(16, 16, boardOrder, new Random())
+                .executeAsync(sudokuOptions.getSeed(), sudokuOptions.getDifficulty());
+        pendingPuzzle = request;
+
+        request.whenComplete((puzzle, failure) -> Platform.runLater(() -> {
+            // Superseded by a newer game in the meantime.  This also covers
+            // a cancelled request, as only startNewGame cancels one.
+            if (pendingPuzzle != request) {
+                return;
+
+            }
+
+            pendingPuzzle = null;
+
+            if (failure != null) {
+                onGenerationFailed(failure);
+                return;
+
+            }
+
+            deliverPuzzle(puzzle);
+        }));
+
+    }
+
+    /**
+     * Tells the user that a puzzle could not be generated, then puts one from
+     * the pre-generated bank on the board in its place.
+     *
+     * @param failure Why generation failed.
+     */
+    private void onGenerationFailed(Throwable failure) {
+        // Let the user back onto the board before anything else can go wrong.
+        puzzlePane.setDisable(false);
+
+        showSudokuAlert("Puzzle Generation Failed", "A new puzzle could not be "
+                + "generated (" + failure + "), so a pre-generated puzzle "
+                + "will be shown instead.");
+
+        // Dug to the clue count the player asked for, not the generator's.
+        sudokuGame.showPreGeneratedPuzzle(this, sudokuOptions.getDifficulty());
+        deliverPuzzle(sudokuGame.getPuzzle());
+
+    }
+
+    /**
+     * Puts a finished puzzle on the board and starts the clock.
+     *
+     * @param puzzle The puzzle to play.
+     */
+    private void deliverPuzzle(SudokuPuzzle puzzle) {
+        sudokuGame.setPuzzle(puzzle);
+        showPuzzleToUser();
+
+        puzzlePane.setDisable(false);
+        elapsedTimer.restart();
+
+    }
+
+    /**
+     * Empties every square of the board and makes it editable again. The text
+     * listeners are held off meanwhile: the user's board is replaced
+     * wholesale when the next puzzle is shown, so there is nothing to check.
+     */
+    private void clearBoard() {
+        isClearingBoard = true;
+
+        for (Node field : puzzlePane.getChildren()) {
+            if (field instanceof SudokuTextField) {
+                SudokuTextField textField = (SudokuTextField) field;
+
+                textField.setText("");
+                textField.setEditable(true);
+                textField.setFont(entryFont);
+                textField.setConflicted(false);
+                textField.setDeadEnd(false);
+
+            }
+
+        }
+
+        deadEndCell = -1;
+        isClearingBoard = false;
+
+    }
+
+    /**
+     * This is the hub for puzzle display. It shows the uncovered squares of
+     * the current puzzle (generated from a seeding of sixteen random numbers,
+     * by default) to the user, and locks them against editing.
      */
     public void showPuzzleToUser() {
-        sudokuGame.execute(16, 16, this);
 
         // This method appears to work, but I'll leave the commented line
         // in in cast I need it again later.
@@ -232,25 +507,30 @@ public class SudokuUI extends Application {
         int row = 0;
         int col = 0;
 
-        for (row = 0; row < SudokuGenerator.MAX_VALUE; row++) {
-            for (col = 0; col < SudokuGenerator.MAX_VALUE; col++) {
+        // The view becomes the user's working board.  It has to be in place
+        // before the clues go in, since setting their text runs leaveFocus.
+        int[][] display = sudokuGame.getDisplay();
+        playerBoard.load(sudokuGame.getSolutionCells(), sudokuGame.getDisplayCells());
+
+        for (row = 0; row < boardSize; row++) {
+            for (col = 0; col < boardSize; col++) {
                 // Don't look up the child node if the array's value is zero. 
                 // We want no display in that case.
-                if (sudokuGame.getDisplay()[row][col] == 0) {
+                if (display[row][col] == 0) {
                     continue;
                 }
 
                 // The value is not zero, so we need to display it in the 
                 // correct child node (only if it is a textField.
                 if (puzzlePane.getChildren().get(col) instanceof TextField) {
-                    // Set the text for hints.  This is done by converting the child-node index from the matrix index, so row * 9 + col.
-                    ((TextField) puzzlePane.getChildren().get(row * 9 + col)).setText(Integer.toString(sudokuGame.getDisplay()[row][col]));
+                    // Set the text for hints.  This is done by converting the child-node index from the matrix index, so row * boardSize + col.
+                    ((TextField) puzzlePane.getChildren().get(row * boardSize + col)).setText(Integer.toString(display[row][col]));
 
                     // Make the font bigger and bold for shown items.
-                    ((TextField) puzzlePane.getChildren().get(row * 9 + col)).setFont(Font.font(STYLESHEET_MODENA, FontWeight.BOLD, 20));
+                    ((TextField) puzzlePane.getChildren().get(row * boardSize + col)).setFont(clueFont);
 
                     // Make sure the box can no longer be edited.  Keep persistent clues.
-                    ((TextField) puzzlePane.getChildren().get(row * 9 + col)).setEditable(false);
+                    ((TextField) puzzlePane.getChildren().get(row * boardSize + col)).setEditable(false);
 
                 }
 
@@ -273,25 +553,27 @@ public class SudokuUI extends Application {
 
         }
 
-        for (row = 0; row < SudokuGenerator.MAX_VALUE; row++) {
-            for (col = 0; col < SudokuGenerator.MAX_VALUE; col++) {
+        int[][] solution = sudokuGame.getSolution();
+
+        for (row = 0; row < boardSize; row++) {
+            for (col = 0; col < boardSize; col++) {
                 // Don't look up the child node if the array's value is zero. 
                 // We want no display in that case.
-                if (sudokuGame.getSolution()[row][col] == 0) {
+                if (solution[row][col] == 0) {
                     continue;
                 }
 
                 // The value is not zero, so we need to display it in the 
                 // correct child node (only if it is a textField).
                 if (puzzlePane.getChildren().get(col) instanceof TextField) {
-                    // Set the text for hints.  This is done by converting the child-node index from the matrix index, so row * 9 + col.
-                    ((TextField) puzzlePane.getChildren().get(row * 9 + col)).setText(Integer.toString(sudokuGame.getSolution()[row][col]));
+                    // Set the text for hints.  This is done by converting the child-node index from the matrix index, so row * boardSize + col.
+                    ((TextField) puzzlePane.getChildren().get(row * boardSize + col)).setText(Integer.toString(solution[row][col]));
 
                     // Make the font bigger and bold for shown items.
-                    ((TextField) puzzlePane.getChildren().get(row * 9 + col)).setFont(Font.font(STYLESHEET_MODENA, FontWeight.BOLD, 20));
+                    ((TextField) puzzlePane.getChildren().get(row * boardSize + col)).setFont(clueFont);
 
                     // Make sure the box can no longer be edited.  Keep persistent clues.
-                    ((TextField) puzzlePane.getChildren().get(row * 9 + col)).setEditable(false);
+                    ((TextField) puzzlePane.getChildren().get(row * boardSize + col)).setEditable(false);
 
                 }
 
@@ -323,7 +605,7 @@ public class SudokuUI extends Application {
             // are the same.
             if (!oldValue.equals(newValue)) {
                 // Call the listener's choice of method.
-                leaveFocus(index, sudokuGame.getDisplay(), row, col);
+                leaveFocus(index);
 
             }
 
@@ -373,38 +655,40 @@ public class SudokuUI extends Application {
      */
     private void SetBorderLocations(SudokuTextField textFieldObj, int row, int col)
     {
+        int last = boardSize - 1;
+
         // Set the grid border so people can see which elements
         // constitute to block-rule.  This and the next if-block both
         // use the custom method in SudokuTextField class.
-        if (!(col % 3 == 0) && row % 3 == 0) {
-            // Paint the top border if our row is a multiple of three.
+        if (!(col % boardOrder == 0) && row % boardOrder == 0) {
+            // Paint the top border if our row starts a block.
             //tf.setStyle("-fx-border-style: solid outside; -fx-border-width: 8 0 0 0;");
-            textFieldObj.setBorderThickness(8, 0, 0, 0, 8);
-        } else if (!(row % 3 == 0) && col % 3 == 0) {
-            // Paint the left border, if our column is multiple of three.
-            textFieldObj.setBorderThickness(0, 0, 0, 8, 8);
+            textFieldObj.setBorderThickness(8, 0, 0, 0, blockBorder);
+        } else if (!(row % boardOrder == 0) && col % boardOrder == 0) {
+            // Paint the left border, if our column starts a block.
+            textFieldObj.setBorderThickness(0, 0, 0, 8, blockBorder);
 
-        } else if (col % 3 == 0 && row % 3 == 0) {
-            textFieldObj.setBorderThickness(8, 0, 0, 8, 8);
+        } else if (col % boardOrder == 0 && row % boardOrder == 0) {
+            textFieldObj.setBorderThickness(8, 0, 0, 8, blockBorder);
 
         }
 
         // Any exterior borders not already painted by setting the 
         // border widths as stored in SudokuTextField object.
-        if (row == SudokuGenerator.MAX_VALUE - 1 && col == SudokuGenerator.MAX_VALUE - 1) {
-            textFieldObj.setBorderThickness(0, 8, 8, 0, 8);
+        if (row == last && col == last) {
+            textFieldObj.setBorderThickness(0, 8, 8, 0, blockBorder);
 
-        } else if (col == SudokuGenerator.MAX_VALUE - 1 && !(row % 3 == 0)) {
-            textFieldObj.setBorderThickness(0, 8, 0, 0, 8);
+        } else if (col == last && !(row % boardOrder == 0)) {
+            textFieldObj.setBorderThickness(0, 8, 0, 0, blockBorder);
 
-        } else if (row == SudokuGenerator.MAX_VALUE - 1 && !(col % 3 == 0)) {
-            textFieldObj.setBorderThickness(0, 0, 8, 0, 8);
+        } else if (row == last && !(col % boardOrder == 0)) {
+            textFieldObj.setBorderThickness(0, 0, 8, 0, blockBorder);
 
-        } else if (row == SudokuGenerator.MAX_VALUE - 1 && col % 3 == 0) {
-            textFieldObj.setBorderThickness(0, 0, 8, 8, 8);
+        } else if (row == last && col % boardOrder == 0) {
+            textFieldObj.setBorderThickness(0, 0, 8, 8, blockBorder);
 
-        } else if (col == SudokuGenerator.MAX_VALUE - 1 && row % 3 == 0) {
-            textFieldObj.setBorderThickness(8, 8, 0, 0, 8);
+        } else if (col == last && row % boardOrder == 0) {
+            textFieldObj.setBorderThickness(8, 8, 0, 0, blockBorder);
 
         }
 
@@ -412,121 +696,176 @@ public class SudokuUI extends Application {
     
     
     /**
-     * The purpose of this method is to check when a player leaves one of the
+     * The purpose of this method is to check when a player changes one of the
      * text boxes that the placed digit, if any, does not violate any rule of
-     * the game. If no violations occur, the value at the location will be added
-     * to the user's working solution array.
+     * the game. The value is written to the user's working board, and every
+     * square whose conflict state changed (the edited one, and any it now
+     * clashes with or no longer clashes with) is repainted; nothing else is
+     * touched. If the edit completes the solution, the game is won on the
+     * spot.
      * <br><br>
-     * NOTE: If a rule is broken, the item will remain on-screen, it just won't
-     * become a part of the solution to check. The on-screen item will be
-     * clearly wrong (red color).
+     * NOTE: Text that is not a digit of the board stays on-screen in red, but
+     * counts as an empty square.
      *
-     * @param index The control index so we can find and change the color.
-     * @param array The user's working solution.
-     * @param row The location-row we're testing here.
-     * @param col The location-col we're testing here.
+     * @param index The control index, which is also the cell index.
      */
-    public void leaveFocus(int index, int[][] array, int row, int col) {
-        // By default, I want thte contents of the cell to be black.  If the rules
-        // below are violated, we'll turn it red.
-        puzzlePane.getChildren().get(index).setStyle("-fx-text-fill: black;"
-                + ((SudokuTextField) puzzlePane.getChildren().get(index)).getBorderFormat());
-
-        if (((SudokuTextField) puzzlePane.getChildren().get(index)).getText().isEmpty()) {
+    public void leaveFocus(int index) {
+        // Part of emptying the whole board, not an edit.
+        if (isClearingBoard) {
             return;
+
         }
 
-        int val = Integer.parseInt(((SudokuTextField) puzzlePane.getChildren().get(row * 9 + col)).getText());
+        String text = ((SudokuTextField) puzzlePane.getChildren().get(index)).getText();
 
-        // Not gonna be able to set a value to an accessor.  Dumb ass.
-        ///sg.getDisplay()[row][col] = val;
-        row = index / 9;
-        col = index - (row * 9);
+        int val = 0;
+        boolean isBadEntry = false;
 
-        // Quick check of the current location, just so we don't wind up
-        // overwriting the value needlessly...and triggering the red.
-        if (array[row][col] == val) {
-            // We don't need to check for something that's already there.
-            return;
+        if (!text.isEmpty()) {
+            try {
+                val = Integer.parseInt(text.trim());
+
+            } catch (NumberFormatException ex) {
+                val = -1;
+
+            }
+
+            isBadEntry = !checkIfValidData(val);
+
+            if (isBadEntry) {
+                val = 0;
+
+            }
 
         }
 
-        // If the move is unsafe, turn the recently departed box's text to red.
-        if (!sudokuGame.isSafeBlock(array, val, row, col) || !sudokuGame.isSafeColOrRow(array, val, row, col) || !checkIfValidData(val)) {
-            // Turn it red.  It's not safe.  Don't mark it to the user array.
-            puzzlePane.getChildren().get(index).setStyle("-fx-text-fill: red;"
-                    + ((SudokuTextField) puzzlePane.getChildren().get(index)).getBorderFormat());
+        // Repaint only what the edit changed.
+        int old = playerBoard.get(index);
+        int changed = playerBoard.set(index, val);
+        for (int i = 0; i < changed; i++) {
+            int cell = playerBoard.getChangedCell(i);
+            paintCell(cell, playerBoard.isConflicted(cell));
+
+        }
 
-        } // Otherwise, turn it black (assume not already black...just in case).
-        else {
-            // Turn it black.
-            puzzlePane.getChildren().get(index).setStyle("-fx-text-fill: black;"
-                    + ((SudokuTextField) puzzlePane.getChildren().get(index)).getBorderFormat());
+        // The edited square itself may be wrong without clashing.
+        paintCell(index, isBadEntry || playerBoard.isConflicted(index));
 
-            // Mark the value into the working array.
-            array[row][col] = val;
+        if (sudokuOptions.isDeadEndFlagged() && val != old) {
+            flagDeadEnd(index);
+
+        }
+
+        // The last right digit wins the game; no need to press commit.  A
+        // clue going in changes nothing, so it can't win.
+        if (val != old && playerBoard.isSolved()) {
+            onGameWon();
 
         }
 
     }
 
     /**
-     * Button event where the user indicates completion and wants to check if
-     * completed successfully. If all items in the visible solution are correct
-     * or do not violate rules, the comparison with the solution array occurs,
-     * and if no errors are detected, the method displays an alert that
-     * indicates victory. The elapsed timer is also stopped.
+     * Asks the user's board whether it can still be solved after an edit, and
+     * moves the dead-end mark to match. The check takes well under a
+     * millisecond, so it runs on every entry without a visible stall.
+     * <br><br>
+     * NOTE: Only entries that break no rule are flagged; a clash is already
+     * red. A board that is still a dead end after a square is emptied keeps
+     * its mark where it was, as does one the check could not decide.
+     *
+     * @param index The square just edited.
      */
-    public void onCommitClickEvent() {
-        for (Node field : puzzlePane.getChildren()) {
-            // If field is a SudokuTextField without text...
-            if (field instanceof SudokuTextField && ((SudokuTextField) field).getText().length() == 0) {
-                // Show a popup box that says you're not done and return.
-                this.showSudokuAlert("Incomplete Puzzle Solution", "You have not "
-                        + "completed all available puzzle squares.  Please "
-                        + "continue to solve the puzzle.");
+    private void flagDeadEnd(int index) {
+        if (playerBoard.getConflictCount() > 0) {
+            return;
 
-                return;
+        }
 
-            }
+        PlayerBoard.Solvability solvability = playerBoard.checkSolvable();
 
-        }
+        if (solvability == PlayerBoard.Solvability.SOLVABLE) {
+            clearDeadEnd();
 
-        // Check the user's solution against the puzzle solution.
-        for (int row = 0; row < sudokuGame.getSolution().length; row++) {
-            for (int col = 0; col < sudokuGame.getSolution()[row].length; col++) {
-                // DEBUG PRINTOUT
-                //System.out.print("The text is " + Integer.parseInt(((SudokuTextField)puzzlePane.getChildren().get(row * 9 + col)).getText()));
-                //System.out.print(" and the actual is " + sg.getSolution()[row][col]);
-                //System.out.println();
-
-                // If the value of any indexed SudokuTextField is not equal to the
-                // corresponding solutions's value, the user solution is 
-                // incorrect, so tell 'em and return.
-                if (Integer.parseInt(((SudokuTextField) puzzlePane.getChildren().get(row * 9 + col)).getText()) != sudokuGame.getSolution()[row][col]) {
-                    this.showSudokuAlert("Incorrect Selection", "One or more of your answers is incocrect.");
-                    return;
+        } else if (solvability == PlayerBoard.Solvability.DEAD_END && playerBoard.get(index) != 0) {
+            clearDeadEnd();
+            ((SudokuTextField) puzzlePane.getChildren().get(index)).setDeadEnd(true);
+            deadEndCell = index;
 
-                }
+        }
 
-            }
+    }
+
+    /**
+     * Takes the dead-end mark off the square that has it, if any.
+     */
+    private void clearDeadEnd() {
+        if (deadEndCell >= 0) {
+            ((SudokuTextField) puzzlePane.getChildren().get(deadEndCell)).setDeadEnd(false);
+            deadEndCell = -1;
 
         }
 
-        // This is for debug only.
-        this.showSudokuAlert(null, "Whoohoo!!!  You win!!!");
+    }
 
-        // Find the timer label to shut it off
-        for (Node field : puzzlePane.getChildren()) {
-            // Check to make sure it's the right control type.
-            if (field instanceof SudokuAnimationLabel) {
-                // Shut off the timer now.
-                ((SudokuAnimationLabel) field).doMessageGameWon();
+    /**
+     * Colors the text of one square. Only the :conflict pseudo-class changes,
+     * so no style string is built or parsed.
+     *
+     * @param index The control index.
+     * @param isWrong True for red, false for black.
+     */
+    private void paintCell(int index, boolean isWrong) {
+        ((SudokuTextField) puzzlePane.getChildren().get(index)).setConflicted(isWrong);
 
-            }
+    }
+
+    /**
+     * Button event where the user indicates completion and wants to check if
+     * completed successfully. The user's board keeps count of its filled
+     * squares and of the squares that disagree with the solution, so this is
+     * two reads rather than a pass over the text fields. If both say the
+     * board is solved, the method displays an alert that indicates victory.
+     * The elapsed timer is also stopped.
+     */
+    public void onCommitClickEvent() {
+        if (!playerBoard.isComplete()) {
+            // Show a popup box that says you're not done and return.
+            this.showSudokuAlert("Incomplete Puzzle Solution", "You have not "
+                    + "completed all available puzzle squares.  Please "
+                    + "continue to solve the puzzle.");
+
+            return;
 
         }
 
+        // If any square is not equal to the corresponding solution's value,
+        // the user solution is incorrect, so tell 'em and return.
+        if (playerBoard.getMismatchCount() > 0) {
+            this.showSudokuAlert("Incorrect Selection", "One or more of your answers is incocrect.");
+            return;
+
+        }
+
+        onGameWon();
+
+    }
+
+    /**
+     * Stops the clock and tells the user they won. The alert waits until the
+     * event that finished the puzzle is over, since the text listener is
+     * still running when an edit wins the game.
+     */
+    private void onGameWon() {
+        // The user won, so let's stop the clock and read what it says.
+        elapsedTimer.doMessageGameWon();
+        long seconds = elapsedTimer.getElapsedMillis() / 1000;
+
+        String msg = String.format("Whoohoo!!!  You win!!!  Your time: %d:%02d:%02d",
+                seconds / 3600, (seconds / 60) % 60, seconds % 60);
+
+        Platform.runLater(() -> this.showSudokuAlert(null, msg));
+
     }
 
     /**
@@ -579,16 +918,17 @@ public class SudokuUI extends Application {
 
     /**
      * Checks the typed value to ensure that it is a valid Sudoku number.
-     * Anything outside of the 1 - 9 (inclusive) range will return false.
+     * Anything outside of the 1 - 9 (inclusive) range, or 1 to the board
+     * width on the other board sizes, will return false.
      *
      * @param val The value under consideration.
-     * @return True, if the number is 1, 2, 3, 4, 5, 6, 7, 8, or 9; false, if
+     * @return True, if the number is 1 through the board width; false, if
      * anything else.
      */
     private boolean checkIfValidData(int val) {
         // If the value is outside of the allowable, we need to 
         // reset it to be within bounds.
-        if (val > 9 || val < 1) {
+        if (val > boardSize || val < 1) {
             return false;
 
         }
@@ -622,12 +962,12 @@ public class SudokuUI extends Application {
      * received the event.
      */
     public void keyUp(int index) {
-        // The 8th index represents array[0][8], which is the first row.  If we
-        // yield a negative number by subtracting 8, we must already be at
+        // The first boardSize indices are the first row.  If we yield a
+        // negative number by subtracting a row, we must already be at
         // array[0][n], so we have no more upward maneuver.  
-        if (index - 8 > 0) {
-            // Move 9 indices up to the square immediately above...
-            ((SudokuTextField) puzzlePane.getChildren().get(index - 9)).requestFocus();
+        if (index - boardSize >= 0) {
+            // Move a row of indices up to the square immediately above...
+            ((SudokuTextField) puzzlePane.getChildren().get(index - boardSize)).requestFocus();
 
         } 
 
@@ -641,12 +981,12 @@ public class SudokuUI extends Application {
      * received the event.
      */
     public void keyDown(int index) {
-        // The 72nd index begins array[8][0], which is the last row
-        // of the array, so there are no more space to go down.  If we yield
-        // a negative number, we must still have downward maneuver room.
-        if (index - (8 * 9) < 0) {
-            // Move 9 indices down to the square immediately below...
-            ((SudokuTextField) puzzlePane.getChildren().get(index + 9)).requestFocus();
+        // Index (boardSize - 1) * boardSize begins the last row of the
+        // array, so there are no more space to go down.  If we yield a
+        // negative number, we must still have downward maneuver room.
+        if (index - ((boardSize - 1) * boardSize) < 0) {
+            // Move a row of indices down to the square immediately below...
+            ((SudokuTextField) puzzlePane.getChildren().get(index + boardSize)).requestFocus();
 
         } 
         
@@ -660,10 +1000,10 @@ public class SudokuUI extends Application {
      * received the event.
      */
     public void keyLeft(int index) {
-        // Mod-9 should result in a non-zero number if we're at any column
-        // greater than to 0.  If this doesn't happen, we're already at 
+        // Mod-boardSize should result in a non-zero number if we're at any
+        // column greater than to 0.  If this doesn't happen, we're already at 
         // the left mod index-column on the grid.
-        if (index % 9 > 0) {
+        if (index % boardSize > 0) {
             // Move 1 index to the square immediately left...
             ((SudokuTextField) puzzlePane.getChildren().get(index - 1)).requestFocus();
 
@@ -682,7 +1022,7 @@ public class SudokuUI extends Application {
         // If we get the Sudoku remainder and subtract the max-column index
         // available in the array, we will yield a negative number until
         // we reach the last possible element, when the result will be zero.
-        if (index % 9 - 8 < 0) {
+        if (index % boardSize - (boardSize - 1) < 0) {
             // Move 1 index to the square immediately right...
             ((SudokuTextField) puzzlePane.getChildren().get(index + 1)).requestFocus();
 